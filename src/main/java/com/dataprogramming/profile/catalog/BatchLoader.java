@@ -0,0 +1,143 @@
+package com.dataprogramming.profile.catalog;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collects lookups by id for a short window, or until the batch is full, and resolves the distinct
+ * ids with a single query. Each caller gets the document with its id, or empty when it does not
+ * exist. Ids are compared in their normalized form, as Mongo returns ObjectIds in lowercase hex
+ * whatever form they were requested in. A batched query that fails or exceeds the timeout fails
+ * every lookup waiting on it, and no lookup is ever left pending. Batch sizes and the time lookups
+ * wait for their batch are published as histograms.
+ *
+ * @param <T> the document type
+ */
+@Slf4j
+public class BatchLoader<T> {
+
+    private final Function<Collection<String>, Flux<T>> loader;
+    private final Function<T, String> idOf;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final DistributionSummary batchSize;
+    private final Timer batchWait;
+    private final Disposable pipeline;
+    private FluxSink<PendingLoad<T>> pending;
+
+    public BatchLoader(String name,
+                       Function<Collection<String>, Flux<T>> loader,
+                       Function<T, String> idOf,
+                       CatalogProperties.Batching properties,
+                       MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.enabled = properties.isEnabled();
+        this.timeout = properties.getTimeout();
+        this.batchSize = DistributionSummary.builder("catalog.batch.size")
+                .description("Distinct ids resolved per batched query")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchWait = Timer.builder("catalog.batch.wait")
+                .description("Time a lookup waits for its batch to be dispatched")
+                .tag("loader", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // Fair backpressure holds a due batch until a dispatch slot frees up; without it a timer
+        // firing while every slot is busy errors the pipeline and no later lookup completes.
+        this.pipeline = Flux.<PendingLoad<T>>create(sink -> this.pending = sink)
+                .bufferTimeout(properties.getMaxSize(), properties.getMaxWait(), true)
+                .flatMap(this::dispatch, properties.getMaxConcurrentBatches())
+                .subscribe();
+    }
+
+    /**
+     * Queues the id for the next batch.
+     *
+     * @param id the document id
+     * @return the document, or empty when it does not exist
+     */
+    public Mono<T> load(String id) {
+        if (!enabled) {
+            return loader.apply(List.of(id)).next();
+        }
+        return Mono.defer(() -> {
+            Sinks.One<T> result = Sinks.one();
+            pending.next(new PendingLoad<>(id, result, System.nanoTime()));
+            return result.asMono();
+        });
+    }
+
+    public void shutdown() {
+        pending.complete();
+        pipeline.dispose();
+    }
+
+    private Mono<Void> dispatch(List<PendingLoad<T>> batch) {
+        long dispatchedAt = System.nanoTime();
+        Map<String, List<Sinks.One<T>>> waiting = new LinkedHashMap<>();
+        for (PendingLoad<T> load : batch) {
+            batchWait.record(dispatchedAt - load.queuedAt(), TimeUnit.NANOSECONDS);
+            waiting.computeIfAbsent(normalize(load.id()), id -> new ArrayList<>()).add(load.result());
+        }
+        batchSize.record(waiting.size());
+        return Flux.defer(() -> loader.apply(List.copyOf(waiting.keySet())))
+                .timeout(timeout)
+                .doOnNext(document -> {
+                    List<Sinks.One<T>> results = waiting.remove(normalize(idOf.apply(document)));
+                    if (results != null) {
+                        results.forEach(result -> result.tryEmitValue(document));
+                    }
+                })
+                // Ids the completed query did not return do not exist.
+                .doOnComplete(() -> complete(waiting, null))
+                .doOnError(throwable -> {
+                    log.error("Batched lookup of {} ids failed: {}", waiting.size(), throwable.getMessage());
+                    complete(waiting, throwable);
+                })
+                .doFinally(signalType -> complete(waiting,
+                        new IllegalStateException("Batched lookup ended with " + signalType)))
+                .onErrorResume(throwable -> Mono.empty())
+                .then();
+    }
+
+    private void complete(Map<String, List<Sinks.One<T>>> waiting, Throwable error) {
+        waiting.values().forEach(results -> results.forEach(result -> {
+            if (error == null) {
+                result.tryEmitEmpty();
+            } else {
+                result.tryEmitError(error);
+            }
+        }));
+        waiting.clear();
+    }
+
+    /**
+     * Lowercases ObjectId hex ids, the form Mongo returns them in; other ids are left as they are.
+     */
+    public static String normalize(String id) {
+        return id != null && ObjectId.isValid(id) ? id.toLowerCase(Locale.ROOT) : id;
+    }
+
+    private record PendingLoad<T>(String id, Sinks.One<T> result, long queuedAt) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.dataprogramming.profile.catalog;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CatalogInvalidation;
+import com.dataprogramming.profile.model.EnumCatalogEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Broadcasts catalog writes to every replica through the capped "CatalogInvalidation" collection.
+ * Each replica tails the collection and drops the affected entries from its local caches; events
+ * published by the replica itself are skipped since the write already updated them. Whenever the
+ * tailable cursor has to be reopened the local caches are flushed, as events may have been missed
+ * in between.
+ */
+@Slf4j
+@Component
+public class CatalogInvalidationBus {
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicBoolean tailing = new AtomicBoolean();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final SubTypeCatalog subTypeCatalog;
+    private final CustomerTypeNearCache customerTypeNearCache;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final CatalogProperties.Invalidation properties;
+    private final MeterRegistry meterRegistry;
+    private Disposable subscription;
+
+    public CatalogInvalidationBus(ReactiveMongoTemplate reactiveMongoTemplate,
+                                  SubTypeCatalog subTypeCatalog,
+                                  CustomerTypeNearCache customerTypeNearCache,
+                                  CatalogSnapshotStore catalogSnapshotStore,
+                                  CatalogProperties catalogProperties,
+                                  MeterRegistry meterRegistry) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.subTypeCatalog = subTypeCatalog;
+        this.customerTypeNearCache = customerTypeNearCache;
+        this.catalogSnapshotStore = catalogSnapshotStore;
+        this.properties = catalogProperties.getInvalidation();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        subscription = createCollection()
+                .thenMany(Flux.defer(this::tail))
+                .doOnError(throwable -> log.warn("Catalog invalidation cursor failed: {}", throwable.getMessage()))
+                .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, properties.getRetryDelay()))
+                .repeatWhen(completed -> completed.delayElements(properties.getRetryDelay()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Announces a write to the other replicas without holding up the write: the invalidation is
+     * stored in the background and failures are only logged and counted, so a write is never
+     * reported as failed once Mongo accepted it. The other replicas catch up on their ttl or
+     * periodic reload when an invalidation is lost.
+     *
+     * @param entity   the kind of document written
+     * @param entityId the id of the document written
+     */
+    public void publish(EnumCatalogEntity entity, String entityId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        send(entity, List.of(invalidation(entity, entityId, Instant.now())));
+    }
+
+    /**
+     * Announces a bulk write to the other replicas with a single insert of one invalidation per id,
+     * in the background as in {@link #publish(EnumCatalogEntity, String)}.
+     *
+     * @param entity    the kind of documents written
+     * @param entityIds the ids of the documents written
+     */
+    public void publishAll(EnumCatalogEntity entity, Collection<String> entityIds) {
+        if (!properties.isEnabled() || entityIds.isEmpty()) {
+            return;
+        }
+        Instant publishedAt = Instant.now();
+        send(entity, entityIds.stream()
+                .map(entityId -> invalidation(entity, entityId, publishedAt))
+                .toList());
+    }
+
+    /**
+     * Announces a write too large to describe id by id, such as a whole NDJSON ingest. The other
+     * replicas drop every cached entry of the entity instead of evicting single ids.
+     *
+     * @param entity the kind of documents written
+     */
+    public void publishBulkWrite(EnumCatalogEntity entity) {
+        publish(entity, null);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    Mono<Void> createCollection() {
+        return reactiveMongoTemplate.collectionExists(CatalogInvalidation.class)
+                .flatMap(exists -> exists
+                        ? Mono.empty()
+                        : reactiveMongoTemplate.createCollection(CatalogInvalidation.class, CollectionOptions.empty()
+                                .capped()
+                                .size(properties.getCollectionSize())
+                                .maxDocuments(properties.getMaxDocuments())))
+                // Another replica may have created it in between.
+                .onErrorResume(throwable -> {
+                    log.debug("CatalogInvalidation collection not created: {}", throwable.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Opens a tailable cursor over the whole collection and drops what it replays up to the newest
+     * invalidation stored at open time. The cursor is not bounded by id: ids come from each replica's
+     * clock, so a replica whose clock lags would publish below the bound and never be heard, and a
+     * tailable cursor reads in insertion order anyway. The collection is never left empty, as a cursor
+     * over an empty capped collection dies straight away.
+     */
+    Flux<CatalogInvalidation> tail() {
+        return reactiveMongoTemplate.findOne(new Query().with(Sort.by(Sort.Direction.DESC, "$natural")),
+                        CatalogInvalidation.class)
+                .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate.insert(CatalogInvalidation.builder()
+                        .origin(instanceId)
+                        .publishedAt(Instant.now())
+                        .build())))
+                .flatMapMany(newest -> {
+                    if (tailing.getAndSet(true)) {
+                        log.info("Catalog invalidation cursor reopened, flushing local caches");
+                        flush();
+                    }
+                    return after(newest, reactiveMongoTemplate.tail(new Query(), CatalogInvalidation.class));
+                })
+                .doOnNext(this::apply);
+    }
+
+    /**
+     * Skips the invalidations the cursor replays, by natural position, up to and including the newest
+     * one. The collection holds at most max-documents entries when the cursor opens, so if the newest
+     * has not shown up by then it was overwritten before the cursor reached it; the local caches are
+     * flushed, as new invalidations may have been skipped along with the old ones.
+     */
+    private Flux<CatalogInvalidation> after(CatalogInvalidation newest, Flux<CatalogInvalidation> cursor) {
+        AtomicBoolean caughtUp = new AtomicBoolean();
+        AtomicLong replayed = new AtomicLong();
+        return cursor.filter(invalidation -> {
+            if (caughtUp.get()) {
+                return true;
+            }
+            if (newest.getId().equals(invalidation.getId())) {
+                caughtUp.set(true);
+            } else if (replayed.incrementAndGet() >= properties.getMaxDocuments()) {
+                log.warn("Newest catalog invalidation was overwritten before the cursor reached it, "
+                        + "flushing local caches");
+                caughtUp.set(true);
+                flush();
+            }
+            return false;
+        });
+    }
+
+    void apply(CatalogInvalidation invalidation) {
+        if (instanceId.equals(invalidation.getOrigin()) || invalidation.getEntity() == null) {
+            return;
+        }
+        String entity = invalidation.getEntity().name();
+        meterRegistry.counter("catalog.invalidation.received", "entity", entity).increment();
+        if (invalidation.getPublishedAt() != null) {
+            Timer.builder("catalog.invalidation.lag")
+                    .description("Time between a write on another replica and its invalidation here")
+                    .tag("entity", entity)
+                    .register(meterRegistry)
+                    .record(Duration.between(invalidation.getPublishedAt(), Instant.now()).abs());
+        }
+        if (invalidation.getEntityId() == null) {
+            switch (invalidation.getEntity()) {
+                case SUB_TYPE -> reloadSubTypes();
+                case CUSTOMER_TYPE -> customerTypeNearCache.invalidateAll();
+            }
+        } else {
+            switch (invalidation.getEntity()) {
+                case SUB_TYPE -> subTypeCatalog.evict(invalidation.getEntityId());
+                case CUSTOMER_TYPE -> customerTypeNearCache.invalidate(invalidation.getEntityId());
+            }
+        }
+        catalogSnapshotStore.requestRebuild();
+    }
+
+    private void flush() {
+        customerTypeNearCache.invalidateAll();
+        catalogSnapshotStore.requestRebuild();
+        reloadSubTypes();
+    }
+
+    private void reloadSubTypes() {
+        subTypeCatalog.reload().subscribe(null,
+                throwable -> log.error("SubType catalog reload failed: {}", throwable.getMessage()));
+    }
+
+    private CatalogInvalidation invalidation(EnumCatalogEntity entity, String entityId, Instant publishedAt) {
+        return CatalogInvalidation.builder()
+                .entity(entity)
+                .entityId(entityId)
+                .origin(instanceId)
+                .publishedAt(publishedAt)
+                .build();
+    }
+
+    /**
+     * Stores the invalidations on the bounded elastic scheduler. At most max-pending-publishes
+     * invalidations wait for Mongo at once; beyond that they are dropped, so a slow or unreachable
+     * Mongo cannot pile up subscriptions behind every write.
+     */
+    private void send(EnumCatalogEntity entity, List<CatalogInvalidation> invalidations) {
+        int count = invalidations.size();
+        if (pending.addAndGet(count) > properties.getMaxPendingPublishes()) {
+            pending.addAndGet(-count);
+            published(entity, "dropped").increment(count);
+            log.warn("Dropped {} {} invalidations, too many are waiting to be stored", count, entity);
+            return;
+        }
+        Mono.defer(() -> reactiveMongoTemplate.insertAll(invalidations).then())
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signalType -> pending.addAndGet(-count))
+                .subscribe(null,
+                        throwable -> {
+                            published(entity, "error").increment(count);
+                            log.error("Unable to publish {} {} invalidations: {}", count, entity,
+                                    throwable.getMessage());
+                        },
+                        () -> published(entity, "success").increment(count));
+    }
+
+    private Counter published(EnumCatalogEntity entity, String outcome) {
+        return meterRegistry.counter("catalog.invalidation.published", "entity", entity.name(), "outcome", outcome);
+    }
+}
@@ -0,0 +1,25 @@
+package com.dataprogramming.profile.catalog;
+
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.entity.SubType;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Full copy of the profile catalog taken at one point in time. Versions grow with every rebuild;
+ * version 0 is the empty snapshot used until the first load completes.
+ */
+public record CatalogSnapshot(long version, List<CustomerType> customerTypes, List<SubType> subTypes,
+                              Instant builtAt) {
+
+    static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, List.of(), List.of(), Instant.EPOCH);
+
+    public CatalogSnapshot {
+        customerTypes = List.copyOf(customerTypes);
+        subTypes = List.copyOf(subTypes);
+    }
+
+    public boolean isLoaded() {
+        return version > 0;
+    }
+}
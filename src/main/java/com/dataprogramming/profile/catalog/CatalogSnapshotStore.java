@@ -0,0 +1,155 @@
+package com.dataprogramming.profile.catalog;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.repository.SubTypeRepository;
+import com.dataprogramming.profile.repository.TypeCustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Holds the current {@link CatalogSnapshot} and rebuilds it in the background. Writes only request
+ * a rebuild; requests arriving while one is running collapse into a single follow-up rebuild, and
+ * the new snapshot is swapped in atomically so readers never see a partial catalog. Until the
+ * first snapshot is loaded reads go to Mongo, and so they do while the catalog holds more than
+ * max-entries documents, as keeping it in heap could exhaust it.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore {
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>(CatalogSnapshot.EMPTY);
+    private final AtomicLong versions = new AtomicLong();
+    private final Sinks.Many<Instant> rebuildRequests = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private final TypeCustomerRepository typeCustomerRepository;
+    private final SubTypeRepository subTypeRepository;
+    private final CatalogProperties.Snapshot properties;
+    private final Timer buildTimer;
+    private final Counter skippedCounter;
+
+    public CatalogSnapshotStore(TypeCustomerRepository typeCustomerRepository,
+                                SubTypeRepository subTypeRepository,
+                                CatalogProperties catalogProperties,
+                                MeterRegistry meterRegistry) {
+        this.typeCustomerRepository = typeCustomerRepository;
+        this.subTypeRepository = subTypeRepository;
+        this.properties = catalogProperties.getSnapshot();
+        this.buildTimer = Timer.builder("catalog.snapshot.build")
+                .description("Time taken to load a full catalog snapshot from Mongo")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("catalog.snapshot.skipped")
+                .description("Rebuilds skipped because the catalog exceeds the snapshot size limit")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.version", current, reference -> reference.get().version())
+                .description("Version of the catalog snapshot being served")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        subscriptions.add(Flux.merge(rebuildRequests.asFlux(),
+                        Flux.interval(Duration.ZERO, properties.getRefreshInterval()).map(tick -> Instant.now()))
+                .onBackpressureLatest()
+                .concatMap(requestedAt -> rebuild()
+                        .onErrorResume(throwable -> {
+                            log.error("Catalog snapshot rebuild failed: {}", throwable.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * Asks for a new snapshot after a catalog write. Returns immediately.
+     */
+    public void requestRebuild() {
+        if (properties.isEnabled()) {
+            rebuildRequests.emitNext(Instant.now(), Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+        }
+    }
+
+    public CatalogSnapshot current() {
+        return current.get();
+    }
+
+    public Flux<CustomerType> customerTypes() {
+        return Flux.defer(() -> {
+            CatalogSnapshot snapshot = current.get();
+            return snapshot.isLoaded()
+                    ? Flux.fromIterable(snapshot.customerTypes())
+                    : typeCustomerRepository.findAll();
+        });
+    }
+
+    public Flux<SubType> subTypes() {
+        return Flux.defer(() -> {
+            CatalogSnapshot snapshot = current.get();
+            return snapshot.isLoaded()
+                    ? Flux.fromIterable(snapshot.subTypes())
+                    : subTypeRepository.findAll();
+        });
+    }
+
+    /**
+     * Loads a new snapshot, or drops the current one when the catalog has grown past max-entries.
+     * Counting first avoids loading an oversized catalog; the loads are capped as well, since
+     * the counts may lag behind concurrent inserts.
+     */
+    Mono<CatalogSnapshot> rebuild() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            long maxEntries = properties.getMaxEntries();
+            return Mono.zip(typeCustomerRepository.count(), subTypeRepository.count())
+                    .flatMap(counts -> counts.getT1() + counts.getT2() > maxEntries
+                            ? Mono.just(tooLarge(counts.getT1() + counts.getT2()))
+                            : Mono.zip(typeCustomerRepository.findAll().take(maxEntries + 1).collectList(),
+                                            subTypeRepository.findAll().take(maxEntries + 1).collectList())
+                                    .map(catalog -> catalog.getT1().size() + catalog.getT2().size() > maxEntries
+                                            ? tooLarge(catalog.getT1().size() + catalog.getT2().size())
+                                            : new CatalogSnapshot(versions.incrementAndGet(),
+                                                    catalog.getT1(), catalog.getT2(), Instant.now())))
+                    .doOnNext(snapshot -> {
+                        current.set(snapshot);
+                        if (snapshot.isLoaded()) {
+                            sample.stop(buildTimer);
+                            log.debug("Catalog snapshot {} built with {} CustomerTypes and {} SubTypes",
+                                    snapshot.version(), snapshot.customerTypes().size(), snapshot.subTypes().size());
+                        }
+                    });
+        });
+    }
+
+    private CatalogSnapshot tooLarge(long entries) {
+        skippedCounter.increment();
+        if (current.get().isLoaded()) {
+            log.warn("Catalog has {} entries, above the snapshot limit of {}; reads go to Mongo",
+                    entries, properties.getMaxEntries());
+        }
+        return CatalogSnapshot.EMPTY;
+    }
+}
@@ -0,0 +1,69 @@
+package com.dataprogramming.profile.catalog;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CustomerType;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Size and ttl bounded cache of CustomerTypes by id. Concurrent misses for the same id share one
+ * load, empty results are not cached and local writes invalidate the entry. Hits, misses, load
+ * latency and evictions are published under the "customerType" cache name.
+ */
+@Component
+public class CustomerTypeNearCache {
+
+    private static final String CACHE_NAME = "customerType";
+
+    private final AsyncCache<String, CustomerType> cache;
+    private final boolean enabled;
+
+    public CustomerTypeNearCache(CatalogProperties catalogProperties, MeterRegistry meterRegistry) {
+        CatalogProperties.CustomerTypes properties = catalogProperties.getCustomerType();
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached CustomerType or loads it with the given loader.
+     *
+     * @param id     the CustomerType id
+     * @param loader reads the CustomerType from Mongo on a miss
+     * @return the CustomerType, or empty when it does not exist
+     */
+    public Mono<CustomerType> get(String id, Function<String, Mono<CustomerType>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        // A cancelled subscriber must not cancel a load other callers are waiting on.
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void invalidate(String id) {
+        if (id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+}
@@ -0,0 +1,193 @@
+package com.dataprogramming.profile.catalog;
+
+import com.dataprogramming.profile.concurrent.SingleFlight;
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.repository.SubTypeRepository;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * In-memory copy of the SubType collection. It is loaded at startup, kept coherent through a
+ * change stream on the collection and fully reloaded periodically, which also covers deployments
+ * where change streams are unavailable (standalone Mongo). Misses read through to Mongo. Every
+ * change is stamped with a sequence number, so a reload never overwrites an entry changed after the
+ * reload started reading, e.g. a SubType deleted while the reload query was in flight.
+ */
+@Slf4j
+@Component
+public class SubTypeCatalog {
+
+    private final Map<String, SubType> subTypes = new ConcurrentHashMap<>();
+    private final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicInteger reloading = new AtomicInteger();
+    private final SubTypeRepository subTypeRepository;
+    private final BatchLoader<SubType> subTypeBatchLoader;
+    private final SingleFlight<SubType> subTypeSingleFlight;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final CatalogProperties.SubTypes properties;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public SubTypeCatalog(SubTypeRepository subTypeRepository,
+                          BatchLoader<SubType> subTypeBatchLoader,
+                          SingleFlight<SubType> subTypeSingleFlight,
+                          ReactiveMongoTemplate reactiveMongoTemplate,
+                          CatalogProperties catalogProperties) {
+        this.subTypeRepository = subTypeRepository;
+        this.subTypeBatchLoader = subTypeBatchLoader;
+        this.subTypeSingleFlight = subTypeSingleFlight;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.properties = catalogProperties.getSubType();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        subscriptions.add(Flux.interval(Duration.ZERO, properties.getReloadInterval())
+                .concatMap(tick -> reload()
+                        .onErrorResume(throwable -> {
+                            log.error("SubType catalog reload failed: {}", throwable.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+        subscriptions.add(reactiveMongoTemplate.changeStream(SubType.class)
+                .withOptions(options -> options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP))
+                .watchCollection(SubType.class)
+                .listen()
+                .doOnNext(this::apply)
+                .doOnError(throwable -> log.warn("SubType change stream interrupted: {}", throwable.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(properties.getReloadInterval()))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * Returns the SubType from memory, reading through to Mongo when it is not loaded yet. Misses
+     * of the same id share one read, which is batched with other concurrent lookups.
+     *
+     * @param id the SubType id
+     * @return the SubType, or empty when it does not exist
+     */
+    public Mono<SubType> findById(String id) {
+        if (!properties.isEnabled()) {
+            return subTypeSingleFlight.execute(id, () -> subTypeBatchLoader.load(id));
+        }
+        SubType subType = subTypes.get(id);
+        if (subType != null) {
+            return Mono.just(subType);
+        }
+        return subTypeSingleFlight.execute(id, () -> subTypeBatchLoader.load(id).doOnNext(this::put));
+    }
+
+    public void put(SubType subType) {
+        if (properties.isEnabled() && subType.getId() != null) {
+            subTypes.compute(subType.getId(), (id, current) -> {
+                changedAt.put(id, changes.incrementAndGet());
+                return subType;
+            });
+        }
+    }
+
+    public void evict(String id) {
+        subTypes.compute(id, (key, current) -> {
+            changedAt.put(key, changes.incrementAndGet());
+            return null;
+        });
+    }
+
+    public int size() {
+        return subTypes.size();
+    }
+
+    /**
+     * Replaces the catalog with the collection, except for the entries changed after the read
+     * started: those already hold newer state than the read. The change stamps the read no longer
+     * needs are dropped once no reload is in flight.
+     */
+    Mono<Void> reload() {
+        return Mono.defer(() -> {
+            reloading.incrementAndGet();
+            long startedAt = changes.get();
+            return subTypeRepository.findAll()
+                    .collectMap(SubType::getId)
+                    .doOnNext(loaded -> {
+                        loaded.forEach((id, subType) -> subTypes.compute(id, (key, current) ->
+                                changedSince(key, startedAt) ? current : subType));
+                        subTypes.keySet().stream()
+                                .filter(id -> !loaded.containsKey(id))
+                                .forEach(id -> subTypes.computeIfPresent(id, (key, current) ->
+                                        changedSince(key, startedAt) ? current : null));
+                        log.debug("SubType catalog reloaded with {} entries", loaded.size());
+                    })
+                    .doFinally(signalType -> {
+                        if (reloading.decrementAndGet() == 0) {
+                            changedAt.values().removeIf(stamp -> stamp <= startedAt);
+                        }
+                    })
+                    .then();
+        });
+    }
+
+    private boolean changedSince(String id, long startedAt) {
+        return changedAt.getOrDefault(id, 0L) > startedAt;
+    }
+
+    void apply(ChangeStreamEvent<SubType> event) {
+        BsonValue documentKey = event.getRaw() != null && event.getRaw().getDocumentKey() != null
+                ? event.getRaw().getDocumentKey().get("_id")
+                : null;
+        String id = documentKey == null ? null
+                : documentKey.isObjectId() ? documentKey.asObjectId().getValue().toHexString()
+                : documentKey.isString() ? documentKey.asString().getValue()
+                : null;
+        apply(event.getOperationType(), id, event.getBody());
+    }
+
+    void apply(OperationType operationType, String id, SubType body) {
+        if (operationType == null) {
+            return;
+        }
+        switch (operationType) {
+            case INSERT, UPDATE, REPLACE -> {
+                if (body != null) {
+                    put(body);
+                } else if (id != null) {
+                    evict(id);
+                }
+            }
+            case DELETE -> {
+                if (id != null) {
+                    evict(id);
+                }
+            }
+            default -> reload().subscribe(null,
+                    throwable -> log.error("SubType catalog reload failed: {}", throwable.getMessage()));
+        }
+    }
+}
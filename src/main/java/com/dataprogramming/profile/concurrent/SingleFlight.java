@@ -0,0 +1,58 @@
+package com.dataprogramming.profile.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent calls for the same key, so a burst of requests for one hot key runs a
+ * single call and every caller shares its result. The key is released once the call terminates,
+ * whatever the signal, hence later calls always see fresh data.
+ *
+ * @param <T> the type of the value returned by the call
+ */
+public class SingleFlight<T> {
+
+    private final Map<String, Mono<T>> inFlight = new ConcurrentHashMap<>();
+    private final Counter requests;
+    private final Counter joined;
+
+    /**
+     * @param requests counts every call requested through the guard
+     * @param joined   counts the calls served by an already pending call of the same key
+     */
+    public SingleFlight(Counter requests, Counter joined) {
+        this.requests = requests;
+        this.joined = joined;
+    }
+
+    /**
+     * Joins the pending call for the key or starts a new one.
+     *
+     * @param key  the key of the call
+     * @param call supplies the call when none is pending
+     * @return the shared result
+     */
+    public Mono<T> execute(String key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            requests.increment();
+            boolean[] started = {false};
+            Mono<T> pending = inFlight.computeIfAbsent(key, k -> {
+                started[0] = true;
+                return call.get()
+                        .doFinally(signalType -> inFlight.remove(k))
+                        .share();
+            });
+            if (!started[0]) {
+                joined.increment();
+            }
+            return pending;
+        });
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.dataprogramming.profile.config;
+
+import com.dataprogramming.profile.catalog.BatchLoader;
+import com.dataprogramming.profile.concurrent.SingleFlight;
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.repository.SubTypeRepository;
+import com.dataprogramming.profile.repository.TypeCustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CatalogBatchConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public BatchLoader<CustomerType> customerTypeBatchLoader(TypeCustomerRepository typeCustomerRepository,
+                                                             CatalogProperties catalogProperties,
+                                                             MeterRegistry meterRegistry) {
+        return new BatchLoader<>("customerType", typeCustomerRepository::findAllById, CustomerType::getId,
+                catalogProperties.getBatching(), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public BatchLoader<SubType> subTypeBatchLoader(SubTypeRepository subTypeRepository,
+                                                   CatalogProperties catalogProperties,
+                                                   MeterRegistry meterRegistry) {
+        return new BatchLoader<>("subType", subTypeRepository::findAllById, SubType::getId,
+                catalogProperties.getBatching(), meterRegistry);
+    }
+
+    /**
+     * Guards the SubType catalog misses.
+     */
+    @Bean
+    public SingleFlight<SubType> subTypeSingleFlight(MeterRegistry meterRegistry) {
+        return singleFlight("subType", meterRegistry);
+    }
+
+    /**
+     * Guards the CustomerType reads that reach Mongo, including those made while the near cache is
+     * disabled.
+     */
+    @Bean
+    public SingleFlight<CustomerType> customerTypeSingleFlight(MeterRegistry meterRegistry) {
+        return singleFlight("customerType", meterRegistry);
+    }
+
+    private static <T> SingleFlight<T> singleFlight(String name, MeterRegistry meterRegistry) {
+        SingleFlight<T> singleFlight = new SingleFlight<>(
+                Counter.builder("catalog.singleflight.requests")
+                        .description("Reads requested through the single-flight guard")
+                        .tag("name", name)
+                        .register(meterRegistry),
+                Counter.builder("catalog.singleflight.deduplicated")
+                        .description("Reads served by an already pending read of the same key")
+                        .tag("name", name)
+                        .register(meterRegistry));
+        Gauge.builder("catalog.singleflight.in.flight", singleFlight, SingleFlight::inFlight)
+                .description("Distinct keys currently being read")
+                .tag("name", name)
+                .register(meterRegistry);
+        return singleFlight;
+    }
+}
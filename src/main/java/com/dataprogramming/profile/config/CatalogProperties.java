@@ -0,0 +1,139 @@
+package com.dataprogramming.profile.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+    private final SubTypes subType = new SubTypes();
+    private final CustomerTypes customerType = new CustomerTypes();
+    private final Snapshot snapshot = new Snapshot();
+    private final Invalidation invalidation = new Invalidation();
+    private final Streaming streaming = new Streaming();
+    private final Batching batching = new Batching();
+    private final Ingest ingest = new Ingest();
+
+    @Getter
+    @Setter
+    public static class SubTypes {
+        /**
+         * Whether SubType lookups are served from the in-memory catalog.
+         */
+        private boolean enabled = true;
+        /**
+         * How often the whole catalog is reloaded, covering change stream outages.
+         */
+        private Duration reloadInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class CustomerTypes {
+        /**
+         * Whether CustomerType lookups by id go through the near-cache.
+         */
+        private boolean enabled = true;
+        /**
+         * Maximum number of CustomerTypes kept in the near-cache.
+         */
+        private long maximumSize = 10_000;
+        /**
+         * Time an entry is served before it is loaded again from Mongo.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        /**
+         * Whether list endpoints are served from the in-memory catalog snapshot.
+         */
+        private boolean enabled = true;
+        /**
+         * How often the snapshot is rebuilt regardless of local writes.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+        /**
+         * Maximum CustomerTypes plus SubTypes kept in the snapshot; above it reads go to Mongo.
+         */
+        private long maxEntries = 100_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Invalidation {
+        /**
+         * Whether catalog writes are broadcast to, and received from, the other replicas.
+         */
+        private boolean enabled = true;
+        /**
+         * Size in bytes of the capped collection, created on startup when missing.
+         */
+        private long collectionSize = 1024 * 1024;
+        /**
+         * Maximum number of invalidations kept in the capped collection.
+         */
+        private long maxDocuments = 10_000;
+        /**
+         * Invalidations allowed to wait for Mongo at once; beyond that new ones are dropped and counted.
+         */
+        private int maxPendingPublishes = 1_000;
+        /**
+         * Delay before the tailable cursor is reopened after it dies or fails.
+         */
+        private Duration retryDelay = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Streaming {
+        /**
+         * Documents fetched from Mongo per cursor batch when streaming a list endpoint.
+         */
+        private int batchSize = 256;
+    }
+
+    @Getter
+    @Setter
+    public static class Batching {
+        /**
+         * Whether concurrent lookups by id are merged into a single "$in" query.
+         */
+        private boolean enabled = true;
+        /**
+         * Maximum number of lookups merged into one query.
+         */
+        private int maxSize = 100;
+        /**
+         * Longest time a lookup waits for its batch to fill up.
+         */
+        private Duration maxWait = Duration.ofMillis(2);
+        /**
+         * Batched queries running at the same time per loader.
+         */
+        private int maxConcurrentBatches = 4;
+        /**
+         * Longest time a batched query may run before every lookup waiting on it fails.
+         */
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Ingest {
+        /**
+         * Items written per bulk insert when ingesting an NDJSON stream.
+         */
+        private int batchSize = 500;
+        /**
+         * Bulk inserts running at the same time per ingest request.
+         */
+        private int concurrency = 4;
+    }
+}
@@ -0,0 +1,37 @@
+package com.dataprogramming.profile.config;
+
+import com.dataprogramming.profile.entity.CustomerType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import reactor.core.publisher.Flux;
+
+/**
+ * Ensures the indexes backing the filtered queries exist. "ensureIndex" is a no-op when an
+ * identical index is already there, so every replica can run it on startup.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class MongoIndexConfig {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        Flux.just(
+                        new Index().on("value", Sort.Direction.ASC).on("subType.value", Sort.Direction.ASC)
+                                .named("value_subType.value"),
+                        new Index().on("subType.value", Sort.Direction.ASC)
+                                .named("subType.value"))
+                .concatMap(index -> reactiveMongoTemplate.indexOps(CustomerType.class).ensureIndex(index))
+                .subscribe(
+                        name -> log.info("Index {} ensured on TypeCustomer", name),
+                        throwable -> log.error("Unable to ensure TypeCustomer indexes: {}", throwable.getMessage()));
+    }
+}
@@ -1,25 +1,65 @@
 package com.dataprogramming.profile.config;
 
 import com.dataprogramming.profile.security.client.SecurityClient;
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import io.netty.channel.ChannelOption;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * Connection pool reserved for the auth service, so its sizing does not depend on other clients.
+     * Pool metrics (reactor.netty.connection.provider.*: total, active, idle and pending) are
+     * published to the global Micrometer registry, which Spring Boot bridges to Prometheus.
+     */
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider securityConnectionProvider(SecurityProperties securityProperties) {
+        SecurityProperties.Pool pool = securityProperties.getClient().getPool();
+        return ConnectionProvider.builder("security-client")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    WebClient webClient() {
-        return WebClient.builder().build();
+    WebClient securityWebClient(@Qualifier("securityConnectionProvider") ConnectionProvider connectionProvider,
+                                SecurityProperties securityProperties) {
+        SecurityProperties.Pool pool = securityProperties.getClient().getPool();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(pool.getConnectTimeout().toMillis()))
+                .responseTimeout(pool.getResponseTimeout())
+                .keepAlive(true)
+                .metrics(true, Function.identity());
+        if (pool.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return WebClient.builder()
+                .baseUrl(securityProperties.getClient().getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 
     @Bean
-    SecurityClient securityClient(WebClient webClient) {
+    SecurityClient securityClient(@Qualifier("securityWebClient") WebClient securityWebClient) {
         HttpServiceProxyFactory httpServiceProxyFactory =
                 HttpServiceProxyFactory
-                        .builderFor(WebClientAdapter.create(webClient))
+                        .builderFor(WebClientAdapter.create(securityWebClient))
                         .build();
         return httpServiceProxyFactory.createClient(SecurityClient.class);
     }
@@ -1,10 +1,17 @@
 package com.dataprogramming.profile.controller;
 
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.FindByIdsRequest;
+import com.dataprogramming.profile.dto.IngestAck;
+import com.dataprogramming.profile.dto.LookupResult;
+import com.dataprogramming.profile.dto.PageResponse;
+import com.dataprogramming.profile.dto.SubTypeBulkRequest;
 import com.dataprogramming.profile.dto.SubTypeRequest;
 import com.dataprogramming.profile.dto.SubTypeResponse;
 import com.dataprogramming.profile.dto.SubTypeUpdateRequest;
 import com.dataprogramming.profile.entity.SubType;
 import com.dataprogramming.profile.mapper.SubTypeMapper;
+import com.dataprogramming.profile.pagination.PageCursor;
 import com.dataprogramming.profile.service.SubTypeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +19,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -25,6 +36,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -68,21 +80,15 @@ public class SubTypeController {
         return subTypeService.create(subTypeRequest)
                 .map(subTypeMapper::toSubTypeResponse)
                 .map(savedSubType -> new ResponseEntity<>(savedSubType, HttpStatus.CREATED))
-                .doOnSuccess(subTypeResponse -> log.info("SubType create successful"))
                 .doOnError(throwable -> log.error("error: ", throwable));
     }
 
     @PutMapping("/update")
     public Mono<ResponseEntity<SubTypeResponse>> update(@Valid @RequestBody SubTypeUpdateRequest subTypeUpdateRequest) {
-        return subTypeService.findById(subTypeUpdateRequest.getId())
-                .flatMap(existingSubType -> {
-                    existingSubType.setValue(subTypeUpdateRequest.getValue());
-                    return subTypeService.update(existingSubType)
-                            .map(subTypeMapper::toSubTypeResponse)
-                            .map(response -> new ResponseEntity<>(response, HttpStatus.OK));
-                })
+        return subTypeService.update(new SubType(subTypeUpdateRequest.getId(), subTypeUpdateRequest.getValue()))
+                .map(subTypeMapper::toSubTypeResponse)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.OK))
                 .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)))
-                .doOnSuccess(response -> log.info("Update operation complete. Status: {}", response.getStatusCode()))
                 .doOnError(throwable -> log.error("Error during update operation: ", throwable));
     }
 
@@ -97,7 +103,6 @@ public class SubTypeController {
                         return Mono.just(new ResponseEntity<Void>(HttpStatus.NOT_FOUND));
                     }
                 })
-                .doOnSuccess(responseEntity -> log.info("subType delete completed with status: {}", responseEntity.getStatusCode()))
                 .onErrorResume(throwable -> {
                     log.error("Error during delete operation: ", throwable);
                     return Mono.just(new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR));
@@ -107,8 +112,30 @@ public class SubTypeController {
     @GetMapping("/list")
     public Flux<SubType> list() {
         return subTypeService.findAll()
-                .doOnSubscribe(subscription -> log.info("Subscription to subType list received"))
-                .doOnTerminate(() -> log.info("List operation complete"));
+                .doOnError(throwable -> log.error("Error occurred while fetching SubTypes:", throwable));
+    }
+
+    @GetMapping(value = "/list", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SubType> stream() {
+        return subTypeService.stream()
+                .doOnError(throwable -> log.error("Error occurred while streaming SubTypes:", throwable));
+    }
+
+    @GetMapping(value = "/list", params = "limit")
+    public Mono<ResponseEntity<PageResponse<SubTypeResponse>>> listPage(@RequestParam int limit,
+                                                                        @RequestParam(required = false) String after) {
+        Optional<String> afterId = after == null ? Optional.empty() : PageCursor.decode(after);
+        if (!PageCursor.isValidLimit(limit) || (after != null && afterId.isEmpty())) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+
+        return PageCursor.toPage(subTypeService.findPage(afterId.orElse(null), limit + 1), limit, SubType::getId)
+                .map(page -> page.map(subTypeMapper::toSubTypeResponse))
+                .map(page -> new ResponseEntity<>(page, HttpStatus.OK))
+                .onErrorResume(throwable -> {
+                    log.error("Error occurred while fetching SubTypes page:", throwable);
+                    return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+                });
     }
 
     @GetMapping("/find/{id}")
@@ -122,10 +149,49 @@ public class SubTypeController {
                 .map(subTypeMapper::toSubTypeResponse)
                 .map(subType -> new ResponseEntity<>(subType, HttpStatus.OK))
                 .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)))
-                .doOnSuccess(response -> log.info("Find operation successful with status: {}", response.getStatusCode()))
                 .onErrorResume(throwable -> {
                     log.error("Error during find operation:", throwable);
                     return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
                 });
     }
+
+    @PostMapping("/findByIds")
+    public Mono<ResponseEntity<Map<String, LookupResult<SubTypeResponse>>>> findByIds(
+            @Valid @RequestBody FindByIdsRequest request) {
+        List<String> ids = request.getIds().stream().distinct().toList();
+        return subTypeService.findAllById(ids)
+                .collectMap(SubType::getId, subTypeMapper::toSubTypeResponse)
+                .map(found -> new ResponseEntity<>(LookupResult.keyedBy(ids, found), HttpStatus.OK))
+                .onErrorResume(throwable -> {
+                    log.error("Error during find by ids operation:", throwable);
+                    return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+                });
+    }
+
+    @PostMapping("/createAll")
+    public Mono<ResponseEntity<List<BulkItemResult<SubTypeResponse>>>> createAll(
+            @Valid @RequestBody SubTypeBulkRequest request) {
+        return subTypeService.createAll(request.getItems())
+                .map(results -> results.stream()
+                        .map(result -> result.map(subTypeMapper::toSubTypeResponse))
+                        .toList())
+                .map(results -> new ResponseEntity<>(results, bulkStatus(results)))
+                .onErrorResume(throwable -> {
+                    log.error("Error during bulk create operation:", throwable);
+                    return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+                });
+    }
+
+    @PostMapping(value = "/ingest", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<IngestAck> ingest(@RequestBody Flux<SubTypeRequest> requests) {
+        return subTypeService.ingest(requests)
+                .doOnError(throwable -> log.error("Error occurred while ingesting SubTypes:", throwable));
+    }
+
+    private static HttpStatus bulkStatus(List<? extends BulkItemResult<?>> results) {
+        return results.stream().allMatch(result -> BulkItemResult.CREATED.equals(result.getStatus()))
+                ? HttpStatus.CREATED
+                : HttpStatus.MULTI_STATUS;
+    }
 }
@@ -1,15 +1,32 @@
 package com.dataprogramming.profile.controller;
 
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.CustomerTypeBulkRequest;
 import com.dataprogramming.profile.dto.CustomerTypeRequest;
 import com.dataprogramming.profile.dto.CustomerTypeResponse;
 import com.dataprogramming.profile.dto.CustomerTypeUpdateRequest;
+import com.dataprogramming.profile.dto.FindByIdsRequest;
+import com.dataprogramming.profile.dto.IngestAck;
+import com.dataprogramming.profile.dto.LookupResult;
+import com.dataprogramming.profile.dto.PageResponse;
+import com.dataprogramming.profile.entity.CustomerType;
 import com.dataprogramming.profile.mapper.CustomerTypeMapper;
+import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.pagination.PageCursor;
+import com.dataprogramming.profile.projection.FieldSelection;
 import com.dataprogramming.profile.service.CustomerTypeService;
 import jakarta.validation.Valid;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +40,8 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/typeCustomer")
 public class TypeCustomerController {
 
+    private static final Set<String> RESPONSE_FIELDS = Set.of("id", "value", "subType");
+
     private final CustomerTypeService typeCustomerService;
     private final CustomerTypeMapper customerTypeMapper;
 
@@ -30,11 +49,58 @@ public class TypeCustomerController {
     public Flux<CustomerTypeResponse> list(){
         return typeCustomerService.findAll()
                 .map(customerTypeMapper::toTypeCustomerResponse)
-                .doOnSubscribe(subscription -> log.info("Starting to fetch all TypeCustomers"))
-                .doOnComplete(() -> log.info("Completed fetching all TypeCustomers"))
                 .doOnError(throwable -> log.error("Error occurred while fetching TypeCustomers:", throwable));
     }
 
+    @GetMapping(value = "/list", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CustomerTypeResponse> stream() {
+        return typeCustomerService.stream()
+                .map(customerTypeMapper::toTypeCustomerResponse)
+                .doOnError(throwable -> log.error("Error occurred while streaming TypeCustomers:", throwable));
+    }
+
+    @GetMapping(value = "/list", params = {"fields", "!limit"})
+    public ResponseEntity<Flux<Map<String, Object>>> listFields(@RequestParam String fields) {
+        Optional<FieldSelection> selection = FieldSelection.parse(fields, RESPONSE_FIELDS);
+        if (selection.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return ResponseEntity.ok(typeCustomerService.findAll(selection.get())
+                .map(customerType -> select(customerType, selection.get()))
+                .doOnError(throwable -> log.error("Error occurred while fetching TypeCustomers:", throwable)));
+    }
+
+    @GetMapping(value = "/list", params = "limit")
+    public Mono<ResponseEntity<PageResponse<CustomerTypeResponse>>> listPage(@RequestParam int limit,
+                                                                             @RequestParam(required = false) String after) {
+        Optional<String> afterId = after == null ? Optional.empty() : PageCursor.decode(after);
+        if (!PageCursor.isValidLimit(limit) || (after != null && afterId.isEmpty())) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+
+        return PageCursor.toPage(typeCustomerService.findPage(afterId.orElse(null), limit + 1), limit,
+                        CustomerType::getId)
+                .map(page -> page.map(customerTypeMapper::toTypeCustomerResponse))
+                .map(page -> new ResponseEntity<>(page, HttpStatus.OK))
+                .onErrorResume(throwable -> {
+                    log.error("Error occurred while fetching TypeCustomers page:", throwable);
+                    return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+                });
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Flux<CustomerTypeResponse>> search(@RequestParam(required = false) EnumCustomerType value,
+                                                             @RequestParam(required = false) EnumSubType subType) {
+        if (value == null && subType == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return ResponseEntity.ok(typeCustomerService.search(value, subType)
+                .map(customerTypeMapper::toTypeCustomerResponse)
+                .doOnError(throwable -> log.error("Error occurred while searching TypeCustomers:", throwable)));
+    }
+
     @GetMapping("/find/{id}")
     public Mono<ResponseEntity<CustomerTypeResponse>> findById(@PathVariable String id){
 
@@ -46,14 +112,41 @@ public class TypeCustomerController {
                 .map(customerTypeMapper::toTypeCustomerResponse)
                 .map(subType -> new ResponseEntity<>(subType, HttpStatus.OK))
                 .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)))
-                .doOnSuccess(response ->
-                        log.info("Find operation successful with status: {}", response.getStatusCode()))
                 .onErrorResume(throwable -> {
                     log.error("Error during find operation:", throwable);
                     return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
                 });
     }
 
+    @GetMapping(value = "/find/{id}", params = "fields")
+    public Mono<ResponseEntity<Map<String, Object>>> findById(@PathVariable String id, @RequestParam String fields) {
+        Optional<FieldSelection> selection = FieldSelection.parse(fields, RESPONSE_FIELDS);
+        if (!StringUtils.hasText(id) || selection.isEmpty()) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+
+        return typeCustomerService.findById(id, selection.get())
+                .map(customerType -> new ResponseEntity<>(select(customerType, selection.get()), HttpStatus.OK))
+                .switchIfEmpty(Mono.just(new ResponseEntity<>(HttpStatus.NOT_FOUND)))
+                .onErrorResume(throwable -> {
+                    log.error("Error during find operation:", throwable);
+                    return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+                });
+    }
+
+    @PostMapping("/findByIds")
+    public Mono<ResponseEntity<Map<String, LookupResult<CustomerTypeResponse>>>> findByIds(
+            @Valid @RequestBody FindByIdsRequest request) {
+        List<String> ids = request.getIds().stream().distinct().toList();
+        return typeCustomerService.findAllById(ids)
+                .collectMap(CustomerType::getId, customerTypeMapper::toTypeCustomerResponse)
+                .map(found -> new ResponseEntity<>(LookupResult.keyedBy(ids, found), HttpStatus.OK))
+                .onErrorResume(throwable -> {
+                    log.error("Error during find by ids operation:", throwable);
+                    return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+                });
+    }
+
     @PostMapping("/create")
     public Mono<ResponseEntity<CustomerTypeResponse>> create(@RequestBody CustomerTypeRequest typeCustomerRequest){
         return typeCustomerService.checkSubType(typeCustomerRequest.getSubType().getId())
@@ -66,6 +159,27 @@ public class TypeCustomerController {
                 .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @PostMapping("/createAll")
+    public Mono<ResponseEntity<List<BulkItemResult<CustomerTypeResponse>>>> createAll(
+            @Valid @RequestBody CustomerTypeBulkRequest request) {
+        return typeCustomerService.createAll(request.getItems())
+                .map(results -> results.stream()
+                        .map(result -> result.map(customerTypeMapper::toTypeCustomerResponse))
+                        .toList())
+                .map(results -> new ResponseEntity<>(results, bulkStatus(results)))
+                .onErrorResume(throwable -> {
+                    log.error("Error during bulk create operation:", throwable);
+                    return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+                });
+    }
+
+    @PostMapping(value = "/ingest", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<IngestAck> ingest(@RequestBody Flux<CustomerTypeRequest> requests) {
+        return typeCustomerService.ingest(requests)
+                .doOnError(throwable -> log.error("Error occurred while ingesting TypeCustomers:", throwable));
+    }
+
     @PutMapping("/update")
     public Mono<ResponseEntity<CustomerTypeResponse>> update(@Valid @RequestBody CustomerTypeUpdateRequest request) {
         return typeCustomerService.update(customerTypeMapper.toCustomerTypeUpdate(request))
@@ -85,11 +199,30 @@ public class TypeCustomerController {
                         return Mono.just(new ResponseEntity<Void>(HttpStatus.NOT_FOUND));
                     }
                 })
-                .doOnSuccess(responseEntity ->
-                        log.info("subType delete completed with status: {}", responseEntity.getStatusCode()))
                 .onErrorResume(throwable -> {
                     log.error("Error during delete operation: ", throwable);
                     return Mono.just(new ResponseEntity<Void>(HttpStatus.INTERNAL_SERVER_ERROR));
                 });
     }
+
+    private static HttpStatus bulkStatus(List<? extends BulkItemResult<?>> results) {
+        return results.stream().allMatch(result -> BulkItemResult.CREATED.equals(result.getStatus()))
+                ? HttpStatus.CREATED
+                : HttpStatus.MULTI_STATUS;
+    }
+
+    private Map<String, Object> select(CustomerType customerType, FieldSelection selection) {
+        CustomerTypeResponse response = customerTypeMapper.toTypeCustomerResponse(customerType);
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (selection.includes("id")) {
+            body.put("id", response.getId());
+        }
+        if (selection.includes("value")) {
+            body.put("value", response.getValue());
+        }
+        if (selection.includes("subType")) {
+            body.put("subType", response.getSubType());
+        }
+        return body;
+    }
 }
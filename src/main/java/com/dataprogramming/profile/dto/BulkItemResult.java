@@ -0,0 +1,40 @@
+package com.dataprogramming.profile.dto;
+
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult<T> {
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private int index;
+    private String status;
+    private T item;
+    private String error;
+
+    public static <T> BulkItemResult<T> created(int index, T item) {
+        return new BulkItemResult<>(index, CREATED, item, null);
+    }
+
+    public static <T> BulkItemResult<T> invalid(int index, String error) {
+        return new BulkItemResult<>(index, INVALID, null, error);
+    }
+
+    public static <T> BulkItemResult<T> failed(int index, String error) {
+        return new BulkItemResult<>(index, FAILED, null, error);
+    }
+
+    public <R> BulkItemResult<R> map(Function<T, R> mapper) {
+        return new BulkItemResult<>(index, status, item == null ? null : mapper.apply(item), error);
+    }
+}
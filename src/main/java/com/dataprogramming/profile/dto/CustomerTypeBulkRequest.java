@@ -0,0 +1,21 @@
+package com.dataprogramming.profile.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerTypeBulkRequest {
+    @NotEmpty(message = "The 'items' field cannot be empty")
+    @Size(max = 500, message = "The 'items' field cannot contain more than 500 items")
+    private List<@NotNull(message = "The 'items' field cannot contain null items") @Valid CustomerTypeRequest> items;
+}
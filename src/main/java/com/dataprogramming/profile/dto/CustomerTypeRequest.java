@@ -1,6 +1,8 @@
 package com.dataprogramming.profile.dto;
 
 import com.dataprogramming.profile.entity.SubType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 @Getter
@@ -9,6 +11,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CustomerTypeRequest {
+    @NotBlank(message = "The 'value' field cannot be blank")
     private String value;
+    @NotNull(message = "The 'subType' field cannot be null")
     private SubType subType;
 }
@@ -0,0 +1,20 @@
+package com.dataprogramming.profile.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindByIdsRequest {
+    @NotEmpty(message = "The 'ids' field cannot be empty")
+    @Size(max = 500, message = "The 'ids' field cannot contain more than 500 ids")
+    private List<@NotBlank(message = "The 'ids' field cannot contain blank ids") String> ids;
+}
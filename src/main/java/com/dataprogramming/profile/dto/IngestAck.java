@@ -0,0 +1,47 @@
+package com.dataprogramming.profile.dto;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestAck {
+    private long batch;
+    /** Stream position of the first item of the batch; rejected indexes are relative to it. */
+    private long offset;
+    private int received;
+    private int created;
+    private List<BulkItemResult<Void>> rejected;
+
+    /**
+     * Summarises the results of one batch, keeping only the items that were not created.
+     */
+    public static IngestAck of(long batch, long offset, List<? extends BulkItemResult<?>> results) {
+        List<BulkItemResult<Void>> rejected = results.stream()
+                .filter(result -> !BulkItemResult.CREATED.equals(result.getStatus()))
+                .map(result -> BulkItemResult.<Void>builder()
+                        .index(result.getIndex())
+                        .status(result.getStatus())
+                        .error(result.getError())
+                        .build())
+                .toList();
+        return new IngestAck(batch, offset, results.size(), results.size() - rejected.size(), rejected);
+    }
+
+    /**
+     * Reports every item of a batch as failed, e.g. when Mongo could not be reached.
+     */
+    public static IngestAck failed(long batch, long offset, int received, String error) {
+        return new IngestAck(batch, offset, received, 0, IntStream.range(0, received)
+                .mapToObj(index -> BulkItemResult.<Void>failed(index, error))
+                .toList());
+    }
+}
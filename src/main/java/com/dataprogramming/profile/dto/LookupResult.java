@@ -0,0 +1,41 @@
+package com.dataprogramming.profile.dto;
+
+import com.dataprogramming.profile.catalog.BatchLoader;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupResult<T> {
+    public static final String FOUND = "FOUND";
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    private String status;
+    private T item;
+
+    /**
+     * Keys the results by the requested ids in request order, with an explicit NOT_FOUND entry for
+     * every requested id that was not returned. Ids are matched in their normalized form, as Mongo
+     * returns ObjectIds in lowercase hex whatever form they were requested in.
+     */
+    public static <T> Map<String, LookupResult<T>> keyedBy(Collection<String> ids, Map<String, T> found) {
+        Map<String, T> foundByNormalizedId = new HashMap<>();
+        found.forEach((id, item) -> foundByNormalizedId.put(BatchLoader.normalize(id), item));
+        Map<String, LookupResult<T>> results = new LinkedHashMap<>();
+        for (String id : ids) {
+            T item = foundByNormalizedId.get(BatchLoader.normalize(id));
+            results.put(id, item == null ? new LookupResult<>(NOT_FOUND, null) : new LookupResult<>(FOUND, item));
+        }
+        return results;
+    }
+}
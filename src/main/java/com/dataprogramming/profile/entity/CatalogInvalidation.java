@@ -0,0 +1,26 @@
+package com.dataprogramming.profile.entity;
+
+import com.dataprogramming.profile.model.EnumCatalogEntity;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Getter
+@Setter
+@Builder
+@Document("CatalogInvalidation")
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogInvalidation {
+    @Id
+    private String id;
+    private EnumCatalogEntity entity;
+    private String entityId;
+    private String origin;
+    private Instant publishedAt;
+}
@@ -0,0 +1,80 @@
+package com.dataprogramming.profile.logging;
+
+import static com.dataprogramming.profile.security.filter.SecurityAndRequestIdFilter.REQUEST_ID_HEADER;
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+@Component
+@RequiredArgsConstructor
+public class AccessLogFilter implements WebFilter, Ordered {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+
+    private final AccessLogProperties accessLogProperties;
+
+    /**
+     * Runs before every other filter, so requests rejected by the security filter are logged too.
+     *
+     * @return the order value indicating the precedence of this filter
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Emits one structured event per exchange with method, route template, status, latency and
+     * request id. Errors (5xx and, unless disabled, 4xx) and slow exchanges are always logged;
+     * the rest are sampled at the configured rate.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!accessLogProperties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signalType -> log(exchange, signalType, System.nanoTime() - start));
+    }
+
+    private void log(ServerWebExchange exchange, SignalType signalType, long elapsedNanos) {
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = signalType == SignalType.ON_ERROR && statusCode == null ? 500
+                : statusCode != null ? statusCode.value() : 200;
+        long latencyMs = elapsedNanos / 1_000_000;
+        boolean error = status >= 500 || (accessLogProperties.isLogClientErrors() && status >= 400);
+        boolean slow = latencyMs >= accessLogProperties.getSlowThreshold().toMillis();
+        if (!error && !slow && ThreadLocalRandom.current().nextDouble() >= accessLogProperties.getSampleRate()) {
+            return;
+        }
+        PathPattern route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object[] fields = {
+                kv("method", exchange.getRequest().getMethod().name()),
+                kv("route", route != null ? route.getPatternString() : "UNMATCHED"),
+                kv("status", status),
+                kv("latencyMs", latencyMs),
+                kv("requestId", exchange.getResponse().getHeaders().getFirst(REQUEST_ID_HEADER)),
+                kv("outcome",
+                        signalType == SignalType.CANCEL ? "cancelled" : error ? "error" : slow ? "slow" : "sampled")
+        };
+        if (error || slow) {
+            ACCESS_LOG.warn("{} {} {} {} {} {}", fields);
+        } else {
+            ACCESS_LOG.info("{} {} {} {} {} {}", fields);
+        }
+    }
+}
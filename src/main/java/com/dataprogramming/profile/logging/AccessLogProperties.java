@@ -0,0 +1,25 @@
+package com.dataprogramming.profile.logging;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "logging.access")
+public class AccessLogProperties {
+    private boolean enabled = true;
+    /**
+     * Fraction of successful, fast exchanges that are logged, between 0 and 1.
+     */
+    private double sampleRate = 0.01;
+    /**
+     * Exchanges slower than this are always logged.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+    /**
+     * Whether exchanges answered with a 4xx status are always logged, 5xx are always logged.
+     */
+    private boolean logClientErrors = true;
+}
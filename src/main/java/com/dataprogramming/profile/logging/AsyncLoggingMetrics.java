@@ -0,0 +1,55 @@
+package com.dataprogramming.profile.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import java.util.function.ToLongFunction;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the queue depth and the queued, discarded and dropped events of every
+ * {@link MeteredAsyncAppender} attached to the root logger.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders =
+                loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof MeteredAsyncAppender appender) {
+                bind(registry, appender);
+            }
+        }
+    }
+
+    void bind(MeterRegistry registry, MeteredAsyncAppender appender) {
+        eventCounter(registry, appender, "queued", MeteredAsyncAppender::getQueuedCount);
+        eventCounter(registry, appender, "discarded", MeteredAsyncAppender::getDiscardedCount);
+        eventCounter(registry, appender, "dropped", MeteredAsyncAppender::getDroppedCount);
+        Gauge.builder("logging.async.queue.size", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                .description("Events waiting in the async appender queue")
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+
+    private static void eventCounter(MeterRegistry registry, MeteredAsyncAppender appender, String result,
+                                     ToLongFunction<MeteredAsyncAppender> count) {
+        FunctionCounter.builder("logging.async.events", appender, value -> count.applyAsLong(value))
+                .description("Log events handled by the async appender")
+                .tag("appender", appender.getName())
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dataprogramming.profile.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous appender that never blocks the caller. When the queue is nearly full, events at or
+ * below {@code discardLevel} are discarded; when it is full, every event is dropped. Queued,
+ * discarded and dropped events are counted so they can be exported as metrics.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Level discardLevel = Level.INFO;
+
+    public MeteredAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    public void setDiscardLevel(String discardLevel) {
+        this.discardLevel = Level.toLevel(discardLevel, Level.INFO);
+    }
+
+    public String getDiscardLevel() {
+        return discardLevel.toString();
+    }
+
+    /**
+     * Discarding is decided in {@link #append(ILoggingEvent)} so that it can be counted.
+     */
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return false;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remainingCapacity = getRemainingCapacity();
+        if (remainingCapacity < getDiscardingThreshold() && event.getLevel().toInt() <= discardLevel.toInt()) {
+            discarded.increment();
+            return;
+        }
+        if (isNeverBlock() && remainingCapacity == 0) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+        queued.increment();
+    }
+
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
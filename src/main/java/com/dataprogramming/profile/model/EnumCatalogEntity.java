@@ -0,0 +1,6 @@
+package com.dataprogramming.profile.model;
+
+public enum EnumCatalogEntity {
+    CUSTOMER_TYPE,
+    SUB_TYPE
+}
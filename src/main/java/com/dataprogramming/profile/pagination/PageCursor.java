@@ -0,0 +1,61 @@
+package com.dataprogramming.profile.pagination;
+
+import com.dataprogramming.profile.dto.PageResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opaque cursors for keyset pagination over {@code _id}. A page is read as {@code _id > after}
+ * sorted by {@code _id} with one extra document, which tells whether another page follows without
+ * counting the collection.
+ */
+public final class PageCursor {
+
+    public static final int MAX_LIMIT = 500;
+
+    private PageCursor() {
+    }
+
+    public static boolean isValidLimit(int limit) {
+        return limit >= 1 && limit <= MAX_LIMIT;
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the id a cursor points after.
+     *
+     * @param cursor the cursor returned as "nextCursor" by a previous page
+     * @return the id, or empty when the cursor is malformed
+     */
+    public static Optional<String> decode(String cursor) {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return id.isBlank() ? Optional.empty() : Optional.of(id);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Builds a page from up to {@code limit + 1} documents read in {@code _id} order.
+     */
+    public static <T> Mono<PageResponse<T>> toPage(Flux<T> fetched, int limit, Function<T, String> idOf) {
+        return fetched.take(limit + 1L)
+                .collectList()
+                .map(documents -> {
+                    if (documents.size() <= limit) {
+                        return new PageResponse<>(documents, null);
+                    }
+                    List<T> items = documents.subList(0, limit);
+                    return new PageResponse<>(List.copyOf(items), encode(idOf.apply(items.get(limit - 1))));
+                });
+    }
+}
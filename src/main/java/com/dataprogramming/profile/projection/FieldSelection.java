@@ -0,0 +1,55 @@
+package com.dataprogramming.profile.projection;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Top-level fields requested through {@code ?fields=}. The same selection drives the Mongo
+ * projection and the trimmed response, so fields that are not asked for are neither read nor sent.
+ */
+public record FieldSelection(Set<String> fields) {
+
+    public static final String ID = "id";
+
+    public FieldSelection {
+        fields = Set.copyOf(fields);
+    }
+
+    /**
+     * Parses a comma separated list of fields.
+     *
+     * @param fields  the raw parameter, e.g. "id,value"
+     * @param allowed the fields the resource exposes
+     * @return the selection, or empty when it is blank or names an unknown field
+     */
+    public static Optional<FieldSelection> parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return Optional.empty();
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : Arrays.stream(fields.split(",")).map(String::trim).toList()) {
+            if (!allowed.contains(field)) {
+                return Optional.empty();
+            }
+            requested.add(field);
+        }
+        return Optional.of(new FieldSelection(requested));
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Restricts the query to the selected fields. The id is always read, even when not selected,
+     * since a projection listing only "_id" would otherwise be sent empty and return every field.
+     */
+    public Query applyTo(Query query) {
+        query.fields().include(ID);
+        fields.forEach(field -> query.fields().include(field));
+        return query;
+    }
+}
@@ -0,0 +1,58 @@
+package com.dataprogramming.profile.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+final class BulkInserts {
+
+    private BulkInserts() {
+    }
+
+    /**
+     * Inserts the documents with a single unordered bulk write, so a document rejected by Mongo
+     * (e.g. a duplicate key) does not stop the rest. Documents must carry their id already, as the
+     * bulk write does not assign it back. The template translates the driver's bulk write error into a
+     * {@link DataAccessException} (e.g. a duplicate key), so the per-document errors are read from its cause.
+     *
+     * @return the position and error message of every document that was not inserted
+     */
+    static <T> Mono<Map<Integer, String>> insertUnordered(ReactiveMongoTemplate reactiveMongoTemplate,
+                                                          Class<T> type,
+                                                          List<T> documents) {
+        if (documents.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type)
+                .insert(documents)
+                .execute()
+                .<Map<Integer, String>>map(result -> Map.of())
+                .onErrorResume(DataAccessException.class, exception -> {
+                    MongoBulkWriteException bulkWriteException = bulkWriteException(exception);
+                    return bulkWriteException == null
+                            ? Mono.error(exception)
+                            : Mono.just(failures(bulkWriteException.getWriteErrors()));
+                });
+    }
+
+    private static MongoBulkWriteException bulkWriteException(Throwable exception) {
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoBulkWriteException bulkWriteException) {
+                return bulkWriteException;
+            }
+        }
+        return null;
+    }
+
+    private static Map<Integer, String> failures(List<BulkWriteError> errors) {
+        Map<Integer, String> failures = new LinkedHashMap<>();
+        errors.forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+        return failures;
+    }
+}
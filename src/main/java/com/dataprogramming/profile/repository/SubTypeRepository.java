@@ -1,7 +1,13 @@
 package com.dataprogramming.profile.repository;
 
 import com.dataprogramming.profile.entity.SubType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 
-public interface SubTypeRepository extends ReactiveMongoRepository<SubType, String> {
+public interface SubTypeRepository extends ReactiveMongoRepository<SubType, String>, SubTypeRepositoryCustom {
+
+    Flux<SubType> findAllBy(Pageable pageable);
+
+    Flux<SubType> findByIdGreaterThan(String id, Pageable pageable);
 }
@@ -0,0 +1,38 @@
+package com.dataprogramming.profile.repository;
+
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.model.EnumSubType;
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface SubTypeRepositoryCustom {
+
+    /**
+     * Streams the whole collection straight off the Mongo cursor, fetching documents in batches
+     * of the configured size as downstream demand arrives.
+     */
+    Flux<SubType> streamAll();
+
+    /**
+     * Inserts the SubTypes with one unordered bulk write. Every SubType must have its id assigned.
+     *
+     * @return the position and error message of every SubType Mongo rejected
+     */
+    Mono<Map<Integer, String>> insertUnordered(List<SubType> subTypes);
+
+    /**
+     * Sets the value of an existing SubType in one atomic findAndModify.
+     *
+     * @return the updated SubType, or empty when it does not exist
+     */
+    Mono<SubType> updateValue(String id, EnumSubType value);
+
+    /**
+     * Deletes the SubType in one round trip.
+     *
+     * @return the number of documents deleted
+     */
+    Mono<Long> removeById(String id);
+}
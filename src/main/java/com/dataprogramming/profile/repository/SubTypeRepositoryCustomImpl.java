@@ -0,0 +1,46 @@
+package com.dataprogramming.profile.repository;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.mongodb.client.result.DeleteResult;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class SubTypeRepositoryCustomImpl implements SubTypeRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final CatalogProperties catalogProperties;
+
+    @Override
+    public Flux<SubType> streamAll() {
+        Query query = new Query().cursorBatchSize(catalogProperties.getStreaming().getBatchSize());
+        return reactiveMongoTemplate.find(query, SubType.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertUnordered(List<SubType> subTypes) {
+        return BulkInserts.insertUnordered(reactiveMongoTemplate, SubType.class, subTypes);
+    }
+
+    @Override
+    public Mono<SubType> updateValue(String id, EnumSubType value) {
+        return reactiveMongoTemplate.findAndModify(Query.query(Criteria.where("id").is(id)),
+                Update.update("value", value), FindAndModifyOptions.options().returnNew(true), SubType.class);
+    }
+
+    @Override
+    public Mono<Long> removeById(String id) {
+        return reactiveMongoTemplate.remove(Query.query(Criteria.where("id").is(id)), SubType.class)
+                .map(DeleteResult::getDeletedCount);
+    }
+}
@@ -1,7 +1,21 @@
 package com.dataprogramming.profile.repository;
 
 import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.model.EnumSubType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 
-public interface TypeCustomerRepository extends ReactiveMongoRepository<CustomerType, String> {
+public interface TypeCustomerRepository extends ReactiveMongoRepository<CustomerType, String>, TypeCustomerRepositoryCustom {
+
+    Flux<CustomerType> findAllBy(Pageable pageable);
+
+    Flux<CustomerType> findByIdGreaterThan(String id, Pageable pageable);
+
+    Flux<CustomerType> findByValue(EnumCustomerType value);
+
+    Flux<CustomerType> findBySubTypeValue(EnumSubType subType);
+
+    Flux<CustomerType> findByValueAndSubTypeValue(EnumCustomerType value, EnumSubType subType);
 }
@@ -0,0 +1,35 @@
+package com.dataprogramming.profile.repository;
+
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.projection.FieldSelection;
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface TypeCustomerRepositoryCustom {
+
+    /**
+     * Streams the whole collection straight off the Mongo cursor, fetching documents in batches
+     * of the configured size as downstream demand arrives.
+     */
+    Flux<CustomerType> streamAll();
+
+    Flux<CustomerType> findAllWithFields(FieldSelection fields);
+
+    Mono<CustomerType> findByIdWithFields(String id, FieldSelection fields);
+
+    /**
+     * Inserts the CustomerTypes with one unordered bulk write. Every CustomerType must have its id assigned.
+     *
+     * @return the position and error message of every CustomerType Mongo rejected
+     */
+    Mono<Map<Integer, String>> insertUnordered(List<CustomerType> customerTypes);
+
+    /**
+     * Deletes the CustomerType in one round trip.
+     *
+     * @return the number of documents deleted
+     */
+    Mono<Long> removeById(String id);
+}
@@ -0,0 +1,49 @@
+package com.dataprogramming.profile.repository;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.projection.FieldSelection;
+import com.mongodb.client.result.DeleteResult;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class TypeCustomerRepositoryCustomImpl implements TypeCustomerRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final CatalogProperties catalogProperties;
+
+    @Override
+    public Flux<CustomerType> streamAll() {
+        Query query = new Query().cursorBatchSize(catalogProperties.getStreaming().getBatchSize());
+        return reactiveMongoTemplate.find(query, CustomerType.class);
+    }
+
+    @Override
+    public Flux<CustomerType> findAllWithFields(FieldSelection fields) {
+        return reactiveMongoTemplate.find(fields.applyTo(new Query()), CustomerType.class);
+    }
+
+    @Override
+    public Mono<CustomerType> findByIdWithFields(String id, FieldSelection fields) {
+        return reactiveMongoTemplate.findOne(fields.applyTo(Query.query(Criteria.where("id").is(id))),
+                CustomerType.class);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertUnordered(List<CustomerType> customerTypes) {
+        return BulkInserts.insertUnordered(reactiveMongoTemplate, CustomerType.class, customerTypes);
+    }
+
+    @Override
+    public Mono<Long> removeById(String id) {
+        return reactiveMongoTemplate.remove(Query.query(Criteria.where("id").is(id)), CustomerType.class)
+                .map(DeleteResult::getDeletedCount);
+    }
+}
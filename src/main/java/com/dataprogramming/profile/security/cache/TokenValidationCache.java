@@ -0,0 +1,126 @@
+package com.dataprogramming.profile.security.cache;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class TokenValidationCache {
+
+    private static final String CACHE_NAME = "securityTokenValidation";
+
+    private final Cache<String, CachedToken> cache;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final boolean enabled;
+
+    public TokenValidationCache(SecurityProperties securityProperties,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        SecurityProperties.Cache properties = securityProperties.getCache();
+        this.objectMapper = objectMapper;
+        this.ttl = properties.getTtl();
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Computes the key used to store a validation, the raw bearer token is never kept in memory.
+     *
+     * @param authorizationHeader the value of the "Authorization" header
+     * @return the SHA-256 hex digest of the header
+     */
+    public String keyOf(String authorizationHeader) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(authorizationHeader.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Optional<TokenResponse> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(key)).map(CachedToken::response);
+    }
+
+    /**
+     * Stores a successful validation. The entry lives for the configured ttl or until the
+     * token "exp" claim, whichever comes first; tokens already expired are not stored.
+     */
+    public void put(String key, String authorizationHeader, TokenResponse response) {
+        if (!enabled || response == null || !response.isSuccess()) {
+            return;
+        }
+        Duration lifetime = tokenExpiry(authorizationHeader)
+                .map(expiry -> Duration.between(Instant.now(), expiry))
+                .filter(remaining -> remaining.compareTo(ttl) < 0)
+                .orElse(ttl);
+        if (lifetime.isNegative() || lifetime.isZero()) {
+            return;
+        }
+        cache.put(key, new CachedToken(response, lifetime.toNanos()));
+    }
+
+    private Optional<Instant> tokenExpiry(String authorizationHeader) {
+        String[] parts = authorizationHeader.substring("Bearer ".length()).split("\\.");
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode exp = claims.get("exp");
+            return exp != null && exp.canConvertToLong()
+                    ? Optional.of(Instant.ofEpochSecond(exp.asLong()))
+                    : Optional.empty();
+        } catch (Exception e) {
+            log.debug("Unable to read token expiry, using configured ttl: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private record CachedToken(TokenResponse response, long lifetimeNanos) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, CachedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedToken value, long currentTime) {
+            return value.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedToken value, long currentTime, long currentDuration) {
+            return value.lifetimeNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
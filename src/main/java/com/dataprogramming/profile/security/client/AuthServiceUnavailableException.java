@@ -0,0 +1,8 @@
+package com.dataprogramming.profile.security.client;
+
+public class AuthServiceUnavailableException extends RuntimeException {
+
+    public AuthServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
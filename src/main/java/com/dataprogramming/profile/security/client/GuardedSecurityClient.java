@@ -0,0 +1,154 @@
+package com.dataprogramming.profile.security.client;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.dataprogramming.profile.security.jwt.InvalidTokenException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Calls the auth service behind a timeout, a concurrency bulkhead and a circuit breaker, so a slow
+ * or failing auth service makes validations fail fast instead of piling up in-flight requests.
+ * Slow calls may be hedged according to the {@link HedgingPolicy}, and calls are grouped by the
+ * {@link TokenValidationBatcher} when batching is enabled.
+ */
+@Slf4j
+@Component
+public class GuardedSecurityClient {
+
+    private static final String NAME = "securityClient";
+
+    private final SecurityClient securityClient;
+    private final Optional<TokenValidationBatcher> tokenValidationBatcher;
+    private final HedgingPolicy hedgingPolicy;
+    private final Duration timeout;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Timer successTimer;
+    private final Timer errorTimer;
+    private final Timer cancelTimer;
+
+    public GuardedSecurityClient(SecurityClient securityClient,
+                                 Optional<TokenValidationBatcher> tokenValidationBatcher,
+                                 HedgingPolicy hedgingPolicy,
+                                 SecurityProperties securityProperties,
+                                 MeterRegistry meterRegistry) {
+        SecurityProperties.Client properties = securityProperties.getClient();
+        this.securityClient = securityClient;
+        this.tokenValidationBatcher = tokenValidationBatcher;
+        this.hedgingPolicy = hedgingPolicy;
+        this.timeout = properties.getTimeout();
+
+        SecurityProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedNumberOfCallsInHalfOpenState())
+                .recordException(GuardedSecurityClient::isAuthServiceFailure)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.circuitBreaker.getEventPublisher()
+                .onStateTransition(event -> log.warn("Auth service circuit breaker {}", event.getStateTransition()));
+
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getBulkhead().getMaxConcurrentCalls())
+                // The semaphore bulkhead waits by blocking the subscribing thread, an event loop here.
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        this.successTimer = validationTimer(meterRegistry, "success");
+        this.errorTimer = validationTimer(meterRegistry, "error");
+        this.cancelTimer = validationTimer(meterRegistry, "cancelled");
+    }
+
+    /**
+     * Validates the token against the auth service.
+     *
+     * @param authorizationHeader the value of the "Authorization" header
+     * @return the validation response, or an {@link AuthServiceUnavailableException} when the
+     *         auth service is timing out, saturated, unreachable, failing with 5xx or the circuit is open
+     */
+    public Mono<TokenResponse> validateToken(String authorizationHeader) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            // Every attempt, hedges included, needs its own bulkhead permit.
+            return hedgingPolicy.apply(() -> Mono.defer(() -> call(authorizationHeader))
+                            .transformDeferred(BulkheadOperator.of(bulkhead)))
+                    .timeout(timeout)
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doFinally(signalType -> sample.stop(timerFor(signalType)));
+        }).onErrorMap(GuardedSecurityClient::isUnavailable,
+                throwable -> new AuthServiceUnavailableException("Auth service unavailable: " + throwable, throwable));
+    }
+
+    private Mono<TokenResponse> call(String authorizationHeader) {
+        return tokenValidationBatcher
+                .map(batcher -> batcher.validate(authorizationHeader))
+                .orElseGet(() -> securityClient.validateToken(authorizationHeader));
+    }
+
+    private Timer timerFor(SignalType signalType) {
+        return switch (signalType) {
+            case ON_COMPLETE -> successTimer;
+            case CANCEL -> cancelTimer;
+            default -> errorTimer;
+        };
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.client.validation")
+                .description("Latency of token validations against the auth service")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Failures that say nothing about the token: the auth service could not be reached, answered
+     * with a 5xx or was not called at all. They are answered with 503 instead of 401.
+     */
+    private static boolean isUnavailable(Throwable throwable) {
+        return throwable instanceof CallNotPermittedException
+                || throwable instanceof BulkheadFullException
+                || throwable instanceof TimeoutException
+                || throwable instanceof WebClientRequestException
+                || throwable instanceof WebClientResponseException responseException
+                        && responseException.getStatusCode().is5xxServerError();
+    }
+
+    /**
+     * Rejected tokens are answered by a healthy auth service, so 4xx responses do not open the circuit.
+     */
+    private static boolean isAuthServiceFailure(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException responseException) {
+            return !responseException.getStatusCode().is4xxClientError();
+        }
+        return !(throwable instanceof BulkheadFullException || throwable instanceof InvalidTokenException);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dataprogramming.profile.security.client;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends a second attempt when the first one has not answered after the configured delay and keeps
+ * whichever signals first, cancelling the other; a hedge that fails is ignored and the primary
+ * attempt keeps running. Hedges are paid from a budget refilled by every call, so they never
+ * exceed the configured ratio of the traffic even when the auth service is slow for everyone.
+ */
+@Component
+public class HedgingPolicy {
+
+    private static final long HEDGE_COST = 1_000;
+
+    private final boolean enabled;
+    private final Duration delay;
+    private final long depositPerCall;
+    private final long capacity;
+    private final AtomicLong budget = new AtomicLong();
+    private final Counter hedged;
+    private final Counter throttled;
+
+    public HedgingPolicy(SecurityProperties securityProperties, MeterRegistry meterRegistry) {
+        SecurityProperties.Hedge properties = securityProperties.getClient().getHedge();
+        this.enabled = properties.isEnabled();
+        this.delay = properties.getDelay();
+        this.depositPerCall = Math.round(properties.getMaxRatio() * HEDGE_COST);
+        this.capacity = properties.getMaxBurst() * HEDGE_COST;
+        this.hedged = Counter.builder("security.client.hedge")
+                .description("Hedged token validations sent to the auth service")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("security.client.hedge")
+                .description("Hedged token validations sent to the auth service")
+                .tag("result", "throttled")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call, hedging it when enabled.
+     *
+     * @param call supplies a new attempt each time it is invoked
+     * @return the first signal of the primary attempt or of the hedge
+     */
+    public <T> Mono<T> apply(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            budget.accumulateAndGet(depositPerCall, (current, deposit) -> Math.min(capacity, current + deposit));
+            Mono<T> hedge = Mono.delay(delay).flatMap(tick -> {
+                if (tryWithdraw()) {
+                    hedged.increment();
+                    // A failed hedge, e.g. rejected by a full bulkhead, must not override the primary attempt.
+                    return call.get().onErrorResume(throwable -> Mono.never());
+                }
+                throttled.increment();
+                return Mono.never();
+            });
+            return Mono.firstWithSignal(call.get(), hedge);
+        });
+    }
+
+    private boolean tryWithdraw() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - HEDGE_COST));
+        return true;
+    }
+}
@@ -1,15 +1,21 @@
 package com.dataprogramming.profile.security.client;
 
+import com.dataprogramming.profile.security.domain.TokenBatchRequest;
+import com.dataprogramming.profile.security.domain.TokenBatchResponse;
 import com.dataprogramming.profile.security.domain.TokenResponse;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.service.annotation.HttpExchange;
 import reactor.core.publisher.Mono;
 
 
-@HttpExchange(url = "http://localhost:8010/auth")
+@HttpExchange(url = "/auth")
 public interface SecurityClient {
 
     @HttpExchange(method = "POST", url = "/validate")
     Mono<TokenResponse> validateToken(@RequestHeader("Authorization") String token);
 
+    @HttpExchange(method = "POST", url = "/validate/batch")
+    Mono<TokenBatchResponse> validateTokens(@RequestBody TokenBatchRequest request);
+
 }
@@ -0,0 +1,102 @@
+package com.dataprogramming.profile.security.client;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenBatchRequest;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.dataprogramming.profile.security.jwt.InvalidTokenException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Buffers validations for a few milliseconds, or until the batch is full, and sends them to the
+ * batch endpoint of the auth service in a single request. Each result is handed back to the
+ * caller waiting for that token. A batch that times out, fails or comes back without a result for
+ * some token fails those callers instead of leaving them waiting.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "security.client.batch", name = "enabled", havingValue = "true")
+public class TokenValidationBatcher {
+
+    private final SecurityClient securityClient;
+    private final Duration timeout;
+    private final Disposable pipeline;
+    private FluxSink<PendingValidation> pending;
+
+    public TokenValidationBatcher(SecurityClient securityClient, SecurityProperties securityProperties) {
+        SecurityProperties.Batch properties = securityProperties.getClient().getBatch();
+        this.securityClient = securityClient;
+        this.timeout = securityProperties.getClient().getTimeout();
+        // Fair backpressure keeps buffering while every batch slot is busy, a plain bufferTimeout
+        // would overflow when its timer fires and terminate the pipeline for good.
+        this.pipeline = Flux.<PendingValidation>create(sink -> this.pending = sink)
+                .bufferTimeout(properties.getMaxSize(), properties.getMaxWait(), true)
+                .flatMap(this::dispatch, properties.getMaxConcurrentBatches())
+                .subscribe();
+    }
+
+    /**
+     * Queues the token for the next batch.
+     *
+     * @param authorizationHeader the value of the "Authorization" header
+     * @return the validation of this token, failing with {@link InvalidTokenException} when rejected
+     *         and with {@link AuthServiceUnavailableException} when its batch got no result for it
+     */
+    public Mono<TokenResponse> validate(String authorizationHeader) {
+        return Mono.defer(() -> {
+            Sinks.One<TokenResponse> result = Sinks.one();
+            pending.next(new PendingValidation(authorizationHeader, result));
+            return result.asMono();
+        });
+    }
+
+    private Mono<Void> dispatch(List<PendingValidation> batch) {
+        List<String> tokens = batch.stream().map(PendingValidation::authorizationHeader).toList();
+        return Mono.defer(() -> securityClient.validateTokens(new TokenBatchRequest(tokens)))
+                .timeout(timeout)
+                .doOnNext(response -> {
+                    List<TokenResponse> results = response.getResults();
+                    for (int i = 0; i < batch.size(); i++) {
+                        TokenResponse result = results != null && i < results.size() ? results.get(i) : null;
+                        batch.get(i).complete(result);
+                    }
+                })
+                .doOnError(throwable -> {
+                    log.error("Batch validation of {} tokens failed: {}", batch.size(), throwable.getMessage());
+                    batch.forEach(validation -> validation.result().tryEmitError(throwable));
+                })
+                .doFinally(signalType -> batch.forEach(validation -> validation.result().tryEmitError(
+                        new AuthServiceUnavailableException("Batch validation ended with " + signalType
+                                + " without a result for the token", null))))
+                .onErrorResume(throwable -> Mono.empty())
+                .then();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pending.complete();
+        pipeline.dispose();
+    }
+
+    private record PendingValidation(String authorizationHeader, Sinks.One<TokenResponse> result) {
+
+        void complete(TokenResponse response) {
+            if (response == null) {
+                result.tryEmitError(new AuthServiceUnavailableException("Missing token in batch response", null));
+            } else if (!response.isSuccess()) {
+                result.tryEmitError(new InvalidTokenException(response.getMessage()));
+            } else {
+                result.tryEmitValue(response);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.dataprogramming.profile.security.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "security")
+public class SecurityProperties {
+
+    private final Cache cache = new Cache();
+    private final Token token = new Token();
+    private final Jwt jwt = new Jwt();
+    private final Client client = new Client();
+    /**
+     * Access policy per path pattern, evaluated in order before any token validation.
+     */
+    private List<Route> routes = new ArrayList<>(List.of(
+            Route.of("/actuator/health/**", Access.PUBLIC),
+            Route.of("/actuator/info", Access.PUBLIC),
+            Route.of("/actuator/prometheus", Access.PUBLIC),
+            Route.of("/v3/api-docs/**", Access.PUBLIC),
+            Route.of("/swagger-ui.html", Access.PUBLIC),
+            Route.of("/swagger-ui/**", Access.PUBLIC),
+            Route.of("/webjars/**", Access.PUBLIC)));
+    /**
+     * Policy applied to paths that match no route.
+     */
+    private Access defaultAccess = Access.TOKEN;
+    /**
+     * How the "request-id" is generated when the request does not carry one.
+     */
+    private RequestIdStrategy requestIdStrategy = RequestIdStrategy.TIME_ORDERED;
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /**
+         * Whether successful token validations are kept in memory.
+         */
+        private boolean enabled = true;
+        /**
+         * Maximum number of validated tokens kept in memory.
+         */
+        private long maximumSize = 10_000;
+        /**
+         * Upper bound for how long a validation is reused, the token expiry is used when sooner.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Token {
+        /**
+         * How bearer tokens are validated.
+         */
+        private Mode mode = Mode.REMOTE;
+        /**
+         * In local mode, whether tokens that are not JWTs are sent to the auth service.
+         */
+        private boolean remoteFallback = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Jwt {
+        /**
+         * PEM encoded RSA public key used to verify token signatures.
+         */
+        private Resource publicKeyLocation;
+        /**
+         * Local JWKS file with the RSA keys used to verify token signatures, looked up by "kid".
+         */
+        private Resource jwksLocation;
+        /**
+         * Tolerance applied when checking the "exp" and "nbf" claims.
+         */
+        private Duration clockSkew = Duration.ofSeconds(30);
+        private String roleClaim = "role";
+        private String enabledClaim = "enabled";
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        /**
+         * Base URL of the auth service.
+         */
+        private String baseUrl = "http://localhost:8010";
+        /**
+         * Maximum time to wait for the auth service before failing the validation.
+         */
+        private Duration timeout = Duration.ofMillis(500);
+        private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+        private final Bulkhead bulkhead = new Bulkhead();
+        private final Hedge hedge = new Hedge();
+        private final Pool pool = new Pool();
+        private final Batch batch = new Batch();
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        /**
+         * Whether validations are buffered and sent to the batch endpoint of the auth service.
+         */
+        private boolean enabled = false;
+        /**
+         * Maximum number of tokens sent in one batch.
+         */
+        private int maxSize = 100;
+        /**
+         * Maximum time a validation waits for its batch to fill up.
+         */
+        private Duration maxWait = Duration.ofMillis(5);
+        /**
+         * Maximum number of batches in flight at once.
+         */
+        private int maxConcurrentBatches = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections = 100;
+        /**
+         * Maximum validations waiting for a connection, further ones are rejected.
+         */
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        /**
+         * How often idle and expired connections are evicted in the background.
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofMillis(200);
+        private Duration responseTimeout = Duration.ofSeconds(1);
+        /**
+         * Whether to multiplex validations over HTTP/2 (cleartext) connections.
+         */
+        private boolean http2 = false;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        /**
+         * Maximum number of concurrent calls to the auth service.
+         */
+        private int maxConcurrentCalls = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedge {
+        /**
+         * Whether a second validation is sent when the first one is slow.
+         */
+        private boolean enabled = false;
+        /**
+         * Time to wait for the first validation before sending the hedge, around the observed p95.
+         */
+        private Duration delay = Duration.ofMillis(50);
+        /**
+         * Maximum hedges sent as a fraction of validations, so hedging cannot double the load.
+         */
+        private double maxRatio = 0.05;
+        /**
+         * Hedges that can be sent in a burst once the budget has been saved up.
+         */
+        private int maxBurst = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Route {
+        /**
+         * Path pattern, e.g. "/actuator/health/**" or "/subtype/delete/{id}".
+         */
+        private String pattern;
+        private Access access = Access.TOKEN;
+        /**
+         * Roles allowed when the access is ROLE.
+         */
+        private List<String> roles = new ArrayList<>();
+
+        static Route of(String pattern, Access access) {
+            Route route = new Route();
+            route.setPattern(pattern);
+            route.setAccess(access);
+            return route;
+        }
+    }
+
+    public enum Access {
+        /**
+         * No token is required, the auth service is never called.
+         */
+        PUBLIC,
+        /**
+         * A valid token is required.
+         */
+        TOKEN,
+        /**
+         * A valid token with one of the route roles is required.
+         */
+        ROLE
+    }
+
+    public enum RequestIdStrategy {
+        /**
+         * UUIDv7 style ids built from the clock and a thread local random.
+         */
+        TIME_ORDERED,
+        /**
+         * The trace id of the request, falling back to a time ordered id when there is no trace.
+         */
+        TRACE_ID,
+        /**
+         * Random UUIDv4 backed by SecureRandom.
+         */
+        RANDOM_UUID
+    }
+
+    public enum Mode {
+        /**
+         * Every token is sent to the auth service.
+         */
+        REMOTE,
+        /**
+         * JWTs are verified in process against the configured keys.
+         */
+        LOCAL
+    }
+}
@@ -0,0 +1,20 @@
+package com.dataprogramming.profile.security.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenBatchRequest {
+    /**
+     * "Authorization" header values to validate.
+     */
+    private List<String> tokens;
+}
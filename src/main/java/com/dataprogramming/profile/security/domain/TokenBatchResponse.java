@@ -0,0 +1,20 @@
+package com.dataprogramming.profile.security.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenBatchResponse {
+    /**
+     * One validation per requested token, in the same order as the request.
+     */
+    private List<TokenResponse> results;
+}
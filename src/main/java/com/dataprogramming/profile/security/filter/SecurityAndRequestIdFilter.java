@@ -1,6 +1,11 @@
 package com.dataprogramming.profile.security.filter;
 
-import com.dataprogramming.profile.security.client.SecurityClient;
+import com.dataprogramming.profile.security.client.AuthServiceUnavailableException;
+import com.dataprogramming.profile.security.config.SecurityProperties.Access;
+import com.dataprogramming.profile.security.policy.RoutePolicyTable;
+import com.dataprogramming.profile.security.policy.RoutePolicyTable.RoutePolicy;
+import com.dataprogramming.profile.security.requestid.RequestIdGenerator;
+import com.dataprogramming.profile.security.service.TokenValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
@@ -18,27 +23,34 @@ import reactor.util.context.Context;
 @RequiredArgsConstructor
 public class SecurityAndRequestIdFilter implements WebFilter, Ordered {
 
-    private final SecurityClient securityClient;
+    private final TokenValidationService tokenValidationService;
+    private final RoutePolicyTable routePolicyTable;
+    private final RequestIdGenerator requestIdGenerator;
     public static final String REQUEST_ID_HEADER = "request-id";
 
     /**
      * Specifies the order of execution for this filter.
-     * By returning Ordered.HIGHEST_PRECEDENCE, this filter is set to execute before other filters.
+     * It executes right after the access log filter, which must wrap it to record rejected requests,
+     * and before every other filter.
      *
      * @return the order value indicating the precedence of this filter
      */
     @Override
     public int getOrder() {
-        return Ordered.HIGHEST_PRECEDENCE;
+        return Ordered.HIGHEST_PRECEDENCE + 1;
     }
 
     /**
      * This filter performs two main functions:
-     * 1. It verifies the presence and validity of the authorization token in the "Authorization" header.
+     * 1. It resolves the access policy of the path from the {@link RoutePolicyTable}.
+     * Public paths (probes, metrics scraping, API docs) are served without any token validation.
+     * Otherwise it verifies the presence and validity of the authorization token in the "Authorization" header.
      * If the token is invalid or not present, it responds with a 401 Unauthorized status.
+     * If the route requires a role the token does not carry, it responds with a 403 Forbidden status.
+     * If the auth service is unavailable (timeout, saturated or circuit open), it responds with a 503 Service Unavailable status.
      * 2. It handles the "request-id" header:
      * - If the "request-id" header is present in the request, it uses it.
-     * - If it is not present, it generates a new UUID and assigns it as the "request-id".
+     * - If it is not present, it generates a new id with the configured {@link RequestIdGenerator} and assigns it as the "request-id".
      * - It ensures that the "request-id" header is always present in the response.
      */
     @Override
@@ -46,19 +58,25 @@ public class SecurityAndRequestIdFilter implements WebFilter, Ordered {
 
         String requestId = exchange.getRequest().getHeaders().getFirst(REQUEST_ID_HEADER);
         if (requestId == null || requestId.isEmpty()) {
-            requestId = java.util.UUID.randomUUID().toString();
-            log.info("Generated new requestId: {}", requestId);
+            requestId = requestIdGenerator.generate(exchange);
+            log.debug("Generated new requestId: {}", requestId);
         } else {
-            log.info("Using existing requestId from header: {}", requestId);
+            log.debug("Using existing requestId from header: {}", requestId);
         }
         final String finalRequestId = requestId;
 
         exchange.getResponse().beforeCommit(() -> {
             exchange.getResponse().getHeaders().add(REQUEST_ID_HEADER, finalRequestId);
-            log.info("Added header 'request-id' to response with value: {}", finalRequestId);
+            log.debug("Added header 'request-id' to response with value: {}", finalRequestId);
             return Mono.empty();
         });
 
+        RoutePolicy policy = routePolicyTable.resolve(exchange.getRequest().getPath().pathWithinApplication());
+        if (policy.access() == Access.PUBLIC) {
+            return chain.filter(exchange)
+                    .contextWrite(Context.of(REQUEST_ID_HEADER, finalRequestId));
+        }
+
         String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
@@ -67,12 +85,23 @@ public class SecurityAndRequestIdFilter implements WebFilter, Ordered {
             return exchange.getResponse().setComplete();
         }
 
-        return securityClient.validateToken(authorizationHeader)
+        return tokenValidationService.validate(authorizationHeader)
                 .flatMap(response -> {
-                    log.info("Token validated successfully. {}", response.getMessage());
+                    log.debug("Token validated successfully. {}", response.getMessage());
+                    String role = response.getData() != null ? response.getData().getRole() : null;
+                    if (!policy.allowsRole(role)) {
+                        log.warn("Role {} is not allowed on this route. Denying access.", role);
+                        exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+                        return exchange.getResponse().setComplete();
+                    }
                     return chain.filter(exchange)
                             .contextWrite(Context.of(REQUEST_ID_HEADER, finalRequestId));
                 })
+                .onErrorResume(AuthServiceUnavailableException.class, throwable -> {
+                    log.error("Unable to validate token: {}", throwable.getMessage());
+                    exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                    return exchange.getResponse().setComplete();
+                })
                 .onErrorResume(throwable -> {
                     log.error("Failed to validate token: {}", throwable.getMessage());
                     exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
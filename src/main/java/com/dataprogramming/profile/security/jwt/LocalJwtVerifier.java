@@ -0,0 +1,191 @@
+package com.dataprogramming.profile.security.jwt;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenData;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies RS256/RS384/RS512 signed JWTs in process, so the auth service is not called for them.
+ * Keys come from a PEM public key, a local JWKS file, or both; JWKS keys are selected by "kid".
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "security.token", name = "mode", havingValue = "local")
+public class LocalJwtVerifier {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Map<String, String> ALGORITHMS = Map.of(
+            "RS256", "SHA256withRSA",
+            "RS384", "SHA384withRSA",
+            "RS512", "SHA512withRSA");
+
+    private final ObjectMapper objectMapper;
+    private final SecurityProperties.Jwt properties;
+    private final Map<String, PublicKey> keysById = new HashMap<>();
+    private PublicKey defaultKey;
+
+    public LocalJwtVerifier(SecurityProperties securityProperties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.properties = securityProperties.getJwt();
+        try {
+            if (properties.getPublicKeyLocation() != null) {
+                defaultKey = readPemKey(properties.getPublicKeyLocation());
+            }
+            if (properties.getJwksLocation() != null) {
+                readJwks(properties.getJwksLocation());
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to load the keys used to verify tokens", e);
+        }
+        if (defaultKey == null && keysById.size() == 1) {
+            defaultKey = keysById.values().iterator().next();
+        }
+        if (defaultKey == null && keysById.isEmpty()) {
+            throw new IllegalStateException(
+                    "security.token.mode=local requires security.jwt.public-key-location or security.jwt.jwks-location");
+        }
+        log.info("Local JWT verification enabled, {} key(s) loaded by kid", keysById.size());
+    }
+
+    /**
+     * Indicates whether the header carries a JWT, opaque tokens can only be validated remotely.
+     *
+     * @param authorizationHeader the value of the "Authorization" header
+     * @return true when the bearer token has the three JWT segments
+     */
+    public boolean supports(String authorizationHeader) {
+        return authorizationHeader.substring(BEARER_PREFIX.length()).split("\\.", -1).length == 3;
+    }
+
+    /**
+     * Verifies the token signature, expiry and claims, mapping them into a {@link TokenResponse}
+     * equivalent to the one returned by the auth service.
+     *
+     * @param authorizationHeader the value of the "Authorization" header
+     * @return the successful validation response
+     * @throws InvalidTokenException when the token cannot be trusted
+     */
+    public TokenResponse verify(String authorizationHeader) {
+        String token = authorizationHeader.substring(BEARER_PREFIX.length());
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            throw new InvalidTokenException("Token is not a JWT");
+        }
+        JsonNode header = decodeSegment(parts[0]);
+        JsonNode claims = decodeSegment(parts[1]);
+
+        String algorithm = ALGORITHMS.get(header.path("alg").asText());
+        if (algorithm == null) {
+            throw new InvalidTokenException("Unsupported token algorithm: " + header.path("alg").asText());
+        }
+        PublicKey key = header.hasNonNull("kid") && keysById.containsKey(header.get("kid").asText())
+                ? keysById.get(header.get("kid").asText())
+                : defaultKey;
+        if (key == null) {
+            throw new InvalidTokenException("No key found for token kid: " + header.path("kid").asText());
+        }
+        verifySignature(algorithm, key, parts);
+        verifyTimestamps(claims);
+
+        boolean enabled = !claims.has(properties.getEnabledClaim())
+                || claims.get(properties.getEnabledClaim()).asBoolean();
+        if (!enabled) {
+            throw new InvalidTokenException("User is disabled");
+        }
+        TokenData data = TokenData.builder()
+                .token(token)
+                .username(claims.path("sub").asText(null))
+                .role(claims.path(properties.getRoleClaim()).asText(null))
+                .enabled(true)
+                .build();
+        return TokenResponse.builder()
+                .success(true)
+                .message("Token verified locally")
+                .data(data)
+                .build();
+    }
+
+    private void verifySignature(String algorithm, PublicKey key, String[] parts) {
+        try {
+            Signature signature = Signature.getInstance(algorithm);
+            signature.initVerify(key);
+            signature.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(Base64.getUrlDecoder().decode(parts[2]))) {
+                throw new InvalidTokenException("Invalid token signature");
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Unable to verify token signature", e);
+        }
+    }
+
+    private void verifyTimestamps(JsonNode claims) {
+        Instant now = Instant.now();
+        Duration skew = properties.getClockSkew();
+        if (!claims.hasNonNull("exp")) {
+            throw new InvalidTokenException("Token has no expiry");
+        }
+        if (Instant.ofEpochSecond(claims.get("exp").asLong()).plus(skew).isBefore(now)) {
+            throw new InvalidTokenException("Token expired");
+        }
+        if (claims.hasNonNull("nbf") && Instant.ofEpochSecond(claims.get("nbf").asLong()).minus(skew).isAfter(now)) {
+            throw new InvalidTokenException("Token not yet valid");
+        }
+    }
+
+    private JsonNode decodeSegment(String segment) {
+        try {
+            return objectMapper.readTree(Base64.getUrlDecoder().decode(segment));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token", e);
+        }
+    }
+
+    private PublicKey readPemKey(Resource resource) throws IOException, GeneralSecurityException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            String pem = new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII)
+                    .replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "")
+                    .replaceAll("\\s", "");
+            return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(pem)));
+        }
+    }
+
+    private void readJwks(Resource resource) throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        try (InputStream inputStream = resource.getInputStream()) {
+            for (JsonNode jwk : objectMapper.readTree(inputStream).path("keys")) {
+                if (!"RSA".equals(jwk.path("kty").asText())) {
+                    continue;
+                }
+                BigInteger modulus = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+                BigInteger exponent = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+                PublicKey key = keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent));
+                if (jwk.hasNonNull("kid")) {
+                    keysById.put(jwk.get("kid").asText(), key);
+                } else if (defaultKey == null) {
+                    defaultKey = key;
+                }
+            }
+        }
+    }
+}
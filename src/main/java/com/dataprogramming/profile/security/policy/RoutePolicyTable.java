@@ -0,0 +1,87 @@
+package com.dataprogramming.profile.security.policy;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.config.SecurityProperties.Access;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Resolves the access policy of a request path; routes are evaluated in configuration order and
+ * the first match wins. Patterns are parsed once at startup. Literal paths are answered from a hash
+ * lookup, which is only equivalent to the ordered scan because a literal shadowed by an earlier
+ * pattern is left out of the lookup.
+ */
+@Slf4j
+@Component
+public class RoutePolicyTable {
+
+    private final Map<String, RoutePolicy> exactRoutes = new HashMap<>();
+    private final List<CompiledRoute> patternRoutes = new ArrayList<>();
+    private final RoutePolicy defaultPolicy;
+
+    public RoutePolicyTable(SecurityProperties securityProperties) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (SecurityProperties.Route route : securityProperties.getRoutes()) {
+            RoutePolicy policy = new RoutePolicy(route.getAccess(), Set.copyOf(route.getRoles()));
+            PathPattern pattern = parser.parse(route.getPattern());
+            if (isLiteral(route.getPattern())) {
+                if (isShadowed(pattern.getPatternString())) {
+                    log.warn("Route {} is never applied, an earlier pattern matches it", route.getPattern());
+                } else {
+                    exactRoutes.putIfAbsent(pattern.getPatternString(), policy);
+                }
+            } else {
+                patternRoutes.add(new CompiledRoute(pattern, policy));
+            }
+        }
+        this.defaultPolicy = new RoutePolicy(securityProperties.getDefaultAccess(), Set.of());
+        log.info("Route policy table loaded with {} exact and {} pattern routes",
+                exactRoutes.size(), patternRoutes.size());
+    }
+
+    /**
+     * Finds the policy for the path, falling back to the default access when no route matches.
+     *
+     * @param path the request path within the application
+     * @return the policy to enforce
+     */
+    public RoutePolicy resolve(PathContainer path) {
+        RoutePolicy exact = exactRoutes.get(path.value());
+        if (exact != null) {
+            return exact;
+        }
+        for (CompiledRoute route : patternRoutes) {
+            if (route.pattern().matches(path)) {
+                return route.policy();
+            }
+        }
+        return defaultPolicy;
+    }
+
+    private boolean isShadowed(String literal) {
+        PathContainer path = PathContainer.parsePath(literal);
+        return patternRoutes.stream().anyMatch(route -> route.pattern().matches(path));
+    }
+
+    private static boolean isLiteral(String pattern) {
+        return pattern.chars().noneMatch(c -> c == '*' || c == '?' || c == '{');
+    }
+
+    private record CompiledRoute(PathPattern pattern, RoutePolicy policy) {
+    }
+
+    public record RoutePolicy(Access access, Set<String> roles) {
+
+        public boolean allowsRole(String role) {
+            return access != Access.ROLE || (role != null && roles.contains(role));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.dataprogramming.profile.security.requestid;
+
+import java.util.UUID;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Random UUIDv4 ids. Every call goes through the shared SecureRandom, which contends under load.
+ */
+public class RandomUuidRequestIdGenerator implements RequestIdGenerator {
+
+    @Override
+    public String generate(ServerWebExchange exchange) {
+        return UUID.randomUUID().toString();
+    }
+}
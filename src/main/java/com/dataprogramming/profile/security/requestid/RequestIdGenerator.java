@@ -0,0 +1,11 @@
+package com.dataprogramming.profile.security.requestid;
+
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Generates the "request-id" of requests that do not carry one.
+ */
+public interface RequestIdGenerator {
+
+    String generate(ServerWebExchange exchange);
+}
@@ -0,0 +1,20 @@
+package com.dataprogramming.profile.security.requestid;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RequestIdGeneratorConfig {
+
+    @Bean
+    RequestIdGenerator requestIdGenerator(SecurityProperties securityProperties, ObjectProvider<Tracer> tracer) {
+        return switch (securityProperties.getRequestIdStrategy()) {
+            case TRACE_ID -> new TraceIdRequestIdGenerator(tracer.getIfAvailable(), new TimeOrderedRequestIdGenerator());
+            case RANDOM_UUID -> new RandomUuidRequestIdGenerator();
+            case TIME_ORDERED -> new TimeOrderedRequestIdGenerator();
+        };
+    }
+}
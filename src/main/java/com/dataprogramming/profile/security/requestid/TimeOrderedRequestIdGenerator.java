@@ -0,0 +1,26 @@
+package com.dataprogramming.profile.security.requestid;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * UUIDv7 layout ids: 48 bits of epoch milliseconds followed by 74 random bits taken from
+ * {@link ThreadLocalRandom}, so ids sort by creation time and generation never contends.
+ */
+public class TimeOrderedRequestIdGenerator implements RequestIdGenerator {
+
+    @Override
+    public String generate(ServerWebExchange exchange) {
+        return next().toString();
+    }
+
+    UUID next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificantBits = (System.currentTimeMillis() << 16)
+                | 0x7000L
+                | (random.nextLong() & 0x0FFFL);
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
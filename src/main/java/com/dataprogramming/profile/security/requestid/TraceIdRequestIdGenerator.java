@@ -0,0 +1,51 @@
+package com.dataprogramming.profile.security.requestid;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Reuses the trace id as "request-id", so logs and traces share one correlation key. The id is read
+ * from the incoming W3C "traceparent" or B3 headers, then from the current span; requests without
+ * a trace get an id from the fallback generator.
+ */
+public class TraceIdRequestIdGenerator implements RequestIdGenerator {
+
+    private static final String TRACEPARENT_HEADER = "traceparent";
+    private static final String B3_TRACE_ID_HEADER = "X-B3-TraceId";
+    private static final String B3_SINGLE_HEADER = "b3";
+
+    private final Tracer tracer;
+    private final RequestIdGenerator fallback;
+
+    public TraceIdRequestIdGenerator(Tracer tracer, RequestIdGenerator fallback) {
+        this.tracer = tracer;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String generate(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String traceparent = headers.getFirst(TRACEPARENT_HEADER);
+        if (traceparent != null) {
+            String[] parts = traceparent.split("-");
+            if (parts.length == 4 && parts[1].length() == 32) {
+                return parts[1];
+            }
+        }
+        String b3TraceId = headers.getFirst(B3_TRACE_ID_HEADER);
+        if (b3TraceId != null && !b3TraceId.isEmpty()) {
+            return b3TraceId;
+        }
+        String b3 = headers.getFirst(B3_SINGLE_HEADER);
+        if (b3 != null && b3.indexOf('-') > 0) {
+            return b3.substring(0, b3.indexOf('-'));
+        }
+        Span span = tracer != null ? tracer.currentSpan() : null;
+        if (span != null) {
+            return span.context().traceId();
+        }
+        return fallback.generate(exchange);
+    }
+}
@@ -0,0 +1,58 @@
+package com.dataprogramming.profile.security.service;
+
+import com.dataprogramming.profile.concurrent.SingleFlight;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent validations of the same token, so a burst of requests carrying one
+ * token produces a single call to the auth service and every caller shares its result.
+ */
+@Component
+public class InFlightTokenValidations {
+
+    private final Counter requests;
+    private final Counter coalesced;
+    private final SingleFlight<TokenResponse> singleFlight;
+
+    public InFlightTokenValidations(MeterRegistry meterRegistry) {
+        this.requests = Counter.builder("security.token.validation.requests")
+                .description("Remote token validations requested")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("security.token.validation.coalesced")
+                .description("Remote token validations served by an already pending call")
+                .register(meterRegistry);
+        this.singleFlight = new SingleFlight<>(requests, coalesced);
+        Gauge.builder("security.token.validation.coalescing.ratio", this, InFlightTokenValidations::coalescingRatio)
+                .description("Fraction of remote token validations that joined a pending call")
+                .register(meterRegistry);
+        Gauge.builder("security.token.validation.in.flight", singleFlight, SingleFlight::inFlight)
+                .description("Distinct token validations currently pending")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Joins the pending validation for the key or starts a new one.
+     *
+     * @param key        the token cache key
+     * @param validation supplies the call to the auth service when none is pending
+     * @return the shared validation result
+     */
+    public Mono<TokenResponse> coalesce(String key, Supplier<Mono<TokenResponse>> validation) {
+        return singleFlight.execute(key, validation);
+    }
+
+    int inFlight() {
+        return singleFlight.inFlight();
+    }
+
+    private double coalescingRatio() {
+        double total = requests.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+}
@@ -0,0 +1,56 @@
+package com.dataprogramming.profile.security.service;
+
+import com.dataprogramming.profile.security.cache.TokenValidationCache;
+import com.dataprogramming.profile.security.client.GuardedSecurityClient;
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.dataprogramming.profile.security.jwt.InvalidTokenException;
+import com.dataprogramming.profile.security.jwt.LocalJwtVerifier;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenValidationService {
+
+    private final GuardedSecurityClient guardedSecurityClient;
+    private final TokenValidationCache tokenValidationCache;
+    private final InFlightTokenValidations inFlightTokenValidations;
+    private final Optional<LocalJwtVerifier> localJwtVerifier;
+    private final SecurityProperties securityProperties;
+
+    /**
+     * Validates the bearer token. In local mode JWTs are verified in process and only opaque
+     * tokens reach the auth service; remote validations are reused while they are still cached
+     * and concurrent validations of the same token share a single call.
+     *
+     * @param authorizationHeader the value of the "Authorization" header
+     * @return the validation response
+     */
+    public Mono<TokenResponse> validate(String authorizationHeader) {
+        if (localJwtVerifier.isPresent()) {
+            LocalJwtVerifier verifier = localJwtVerifier.get();
+            if (verifier.supports(authorizationHeader)) {
+                return Mono.fromCallable(() -> verifier.verify(authorizationHeader));
+            }
+            if (!securityProperties.getToken().isRemoteFallback()) {
+                return Mono.error(new InvalidTokenException("Opaque tokens are not accepted"));
+            }
+            log.debug("Token is not a JWT, falling back to remote validation");
+        }
+        return validateRemotely(authorizationHeader);
+    }
+
+    private Mono<TokenResponse> validateRemotely(String authorizationHeader) {
+        String key = tokenValidationCache.keyOf(authorizationHeader);
+        return tokenValidationCache.get(key)
+                .map(Mono::just)
+                .orElseGet(() -> inFlightTokenValidations.coalesce(key, () ->
+                        guardedSecurityClient.validateToken(authorizationHeader)
+                                .doOnNext(response -> tokenValidationCache.put(key, authorizationHeader, response))));
+    }
+}
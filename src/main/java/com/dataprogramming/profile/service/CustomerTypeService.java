@@ -1,7 +1,15 @@
 package com.dataprogramming.profile.service;
 
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.CustomerTypeRequest;
+import com.dataprogramming.profile.dto.IngestAck;
 import com.dataprogramming.profile.entity.CustomerType;
 import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.projection.FieldSelection;
+import java.util.Collection;
+import java.util.List;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -10,8 +18,24 @@ public interface CustomerTypeService {
 
     public Flux<CustomerType> findAll();
 
+    public Flux<CustomerType> findPage(String afterId, int size);
+
+    public Flux<CustomerType> stream();
+
+    public Flux<CustomerType> search(EnumCustomerType value, EnumSubType subType);
+
     public Mono<CustomerType> findById(String id);
 
+    public Flux<CustomerType> findAllById(Collection<String> ids);
+
+    public Flux<CustomerType> findAll(FieldSelection fields);
+
+    public Mono<CustomerType> findById(String id, FieldSelection fields);
+
+    public Mono<List<BulkItemResult<CustomerType>>> createAll(List<CustomerTypeRequest> requests);
+
+    public Flux<IngestAck> ingest(Flux<CustomerTypeRequest> requests);
+
     public Mono<CustomerType> update(CustomerType typeCustomer);
 
     public Mono<Boolean> delete(String id);
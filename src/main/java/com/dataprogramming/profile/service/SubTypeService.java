@@ -1,7 +1,11 @@
 package com.dataprogramming.profile.service;
 
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.IngestAck;
 import com.dataprogramming.profile.dto.SubTypeRequest;
 import com.dataprogramming.profile.entity.SubType;
+import java.util.Collection;
+import java.util.List;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -10,8 +14,18 @@ public interface SubTypeService {
 
     public Flux<SubType> findAll();
 
+    public Flux<SubType> findPage(String afterId, int size);
+
+    public Flux<SubType> stream();
+
     public Mono<SubType> findById(String id);
 
+    public Flux<SubType> findAllById(Collection<String> ids);
+
+    public Mono<List<BulkItemResult<SubType>>> createAll(List<SubTypeRequest> requests);
+
+    public Flux<IngestAck> ingest(Flux<SubTypeRequest> requests);
+
     public Mono<SubType> update(SubType profile);
 
     public Mono<Boolean> delete(String id);
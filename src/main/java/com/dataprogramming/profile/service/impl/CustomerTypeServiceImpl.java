@@ -1,14 +1,43 @@
 package com.dataprogramming.profile.service.impl;
 
+import com.dataprogramming.profile.catalog.BatchLoader;
+import com.dataprogramming.profile.catalog.CatalogInvalidationBus;
+import com.dataprogramming.profile.catalog.CatalogSnapshotStore;
+import com.dataprogramming.profile.catalog.CustomerTypeNearCache;
+import com.dataprogramming.profile.concurrent.SingleFlight;
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.CustomerTypeRequest;
+import com.dataprogramming.profile.dto.IngestAck;
 import com.dataprogramming.profile.entity.CustomerType;
 import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.mapper.CustomerTypeMapper;
+import com.dataprogramming.profile.model.EnumCatalogEntity;
+import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.projection.FieldSelection;
 import com.dataprogramming.profile.repository.TypeCustomerRepository;
 import com.dataprogramming.profile.service.CustomerTypeService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CustomerTypeServiceImpl implements CustomerTypeService {
@@ -17,36 +46,230 @@ public class CustomerTypeServiceImpl implements CustomerTypeService {
 
     private final SubTypeServiceImpl subTypeServiceImpl;
 
+    private final CustomerTypeNearCache customerTypeNearCache;
+
+    private final CatalogSnapshotStore catalogSnapshotStore;
+
+    private final CatalogInvalidationBus catalogInvalidationBus;
+
+    private final BatchLoader<CustomerType> customerTypeBatchLoader;
+
+    private final SingleFlight<CustomerType> customerTypeSingleFlight;
+
+    private final CustomerTypeMapper customerTypeMapper;
+
+    private final CatalogProperties catalogProperties;
+
     @Override
     public Mono<CustomerType> create(CustomerType typeCustomer) {
-        return typeCustomerRepository.save(typeCustomer);
+        return typeCustomerRepository.save(typeCustomer)
+                .doOnNext(created -> customerTypeNearCache.invalidate(created.getId()))
+                .doOnNext(created -> catalogSnapshotStore.requestRebuild())
+                .doOnNext(created -> catalogInvalidationBus.publish(EnumCatalogEntity.CUSTOMER_TYPE, created.getId()));
     }
 
     @Override
     public Flux<CustomerType> findAll() {
-        return typeCustomerRepository.findAll();
+        return catalogSnapshotStore.customerTypes();
+    }
+
+    @Override
+    public Flux<CustomerType> findPage(String afterId, int size) {
+        Pageable page = PageRequest.of(0, size, Sort.by("id"));
+        return afterId == null
+                ? typeCustomerRepository.findAllBy(page)
+                : typeCustomerRepository.findByIdGreaterThan(afterId, page);
+    }
+
+    @Override
+    public Flux<CustomerType> stream() {
+        return typeCustomerRepository.streamAll();
+    }
+
+    @Override
+    public Flux<CustomerType> search(EnumCustomerType value, EnumSubType subType) {
+        if (value != null && subType != null) {
+            return typeCustomerRepository.findByValueAndSubTypeValue(value, subType);
+        }
+        return value != null
+                ? typeCustomerRepository.findByValue(value)
+                : typeCustomerRepository.findBySubTypeValue(subType);
     }
 
     @Override
     public Mono<CustomerType> findById(String id) {
-        return typeCustomerRepository.findById(id);
+        return customerTypeNearCache.get(id, key ->
+                customerTypeSingleFlight.execute(key, () -> customerTypeBatchLoader.load(key)));
+    }
+
+    @Override
+    public Flux<CustomerType> findAllById(Collection<String> ids) {
+        return typeCustomerRepository.findAllById(ids);
+    }
+
+    /**
+     * Serves the selection from the catalog snapshot once it is loaded, the caller trims the
+     * response; Mongo is only queried with a projection until then.
+     */
+    @Override
+    public Flux<CustomerType> findAll(FieldSelection fields) {
+        return Flux.defer(() -> catalogSnapshotStore.current().isLoaded()
+                ? catalogSnapshotStore.customerTypes()
+                : typeCustomerRepository.findAllWithFields(fields));
+    }
+
+    /**
+     * Serves the selection from the near cache when it is enabled, the caller trims the response;
+     * otherwise the document is read from Mongo with a projection.
+     */
+    @Override
+    public Mono<CustomerType> findById(String id, FieldSelection fields) {
+        return customerTypeNearCache.isEnabled()
+                ? findById(id)
+                : typeCustomerRepository.findByIdWithFields(id, fields);
+    }
+
+    /**
+     * Creates the CustomerTypes with two round trips: one $in query validating every referenced
+     * SubType and one unordered bulk insert. Ids are assigned up front so each result can be
+     * matched to its request.
+     */
+    @Override
+    public Mono<List<BulkItemResult<CustomerType>>> createAll(List<CustomerTypeRequest> requests) {
+        return insertAll(requests)
+                .map(results -> {
+                    List<String> createdIds = results.stream()
+                            .filter(result -> BulkItemResult.CREATED.equals(result.getStatus()))
+                            .map(result -> result.getItem().getId())
+                            .toList();
+                    if (!createdIds.isEmpty()) {
+                        catalogSnapshotStore.requestRebuild();
+                    }
+                    catalogInvalidationBus.publishAll(EnumCatalogEntity.CUSTOMER_TYPE, createdIds);
+                    return results;
+                });
+    }
+
+    /**
+     * Writes the stream batch by batch without touching the caches, then rebuilds the snapshot and
+     * announces the write once, so a large ingest does not reload the catalog on every replica per batch.
+     */
+    @Override
+    public Flux<IngestAck> ingest(Flux<CustomerTypeRequest> requests) {
+        CatalogProperties.Ingest ingest = catalogProperties.getIngest();
+        AtomicBoolean created = new AtomicBoolean();
+        return requests.buffer(ingest.getBatchSize())
+                .index()
+                .flatMapSequential(batch -> {
+                    long offset = batch.getT1() * ingest.getBatchSize();
+                    return insertAll(batch.getT2())
+                            .map(results -> IngestAck.of(batch.getT1(), offset, results))
+                            .doOnNext(ack -> {
+                                if (ack.getCreated() > 0) {
+                                    created.set(true);
+                                }
+                            })
+                            .onErrorResume(throwable -> {
+                                log.error("CustomerType ingest batch {} failed: {}", batch.getT1(),
+                                        throwable.getMessage());
+                                return Mono.just(IngestAck.failed(batch.getT1(), offset, batch.getT2().size(),
+                                        throwable.getMessage()));
+                            });
+                }, ingest.getConcurrency(), 1)
+                .concatWith(Mono.fromRunnable(() -> announceIngest(created)))
+                .doOnError(throwable -> announceIngest(created))
+                .doOnCancel(() -> announceIngest(created));
+    }
+
+    private void announceIngest(AtomicBoolean created) {
+        if (created.getAndSet(false)) {
+            catalogSnapshotStore.requestRebuild();
+            catalogInvalidationBus.publishBulkWrite(EnumCatalogEntity.CUSTOMER_TYPE);
+        }
+    }
+
+    private Mono<List<BulkItemResult<CustomerType>>> insertAll(List<CustomerTypeRequest> requests) {
+        Set<String> subTypeIds = requests.stream()
+                .map(CustomerTypeRequest::getSubType)
+                .filter(Objects::nonNull)
+                .map(SubType::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return subTypeServiceImpl.findAllById(subTypeIds)
+                .collectMap(SubType::getId)
+                .flatMap(subTypes -> insertAll(requests, subTypes));
     }
 
     @Override
     public Mono<CustomerType> update(CustomerType typeCustomer) {
-        return typeCustomerRepository.save(typeCustomer);
+        return typeCustomerRepository.save(typeCustomer)
+                .doOnNext(updated -> customerTypeNearCache.invalidate(updated.getId()))
+                .doOnNext(updated -> catalogSnapshotStore.requestRebuild())
+                .doOnNext(updated -> catalogInvalidationBus.publish(EnumCatalogEntity.CUSTOMER_TYPE, updated.getId()));
     }
 
     @Override
     public Mono<Boolean> delete(String id) {
-        return typeCustomerRepository.findById(id)
-                .flatMap(
-                        deleteTypeCustomer -> typeCustomerRepository.delete(deleteTypeCustomer)
-                                .then(Mono.just(Boolean.TRUE))
-                )
+        return typeCustomerRepository.removeById(id)
+                .map(deleted -> {
+                    if (deleted == 0) {
+                        return Boolean.FALSE;
+                    }
+                    customerTypeNearCache.invalidate(id);
+                    catalogSnapshotStore.requestRebuild();
+                    catalogInvalidationBus.publish(EnumCatalogEntity.CUSTOMER_TYPE, id);
+                    return Boolean.TRUE;
+                })
                 .defaultIfEmpty(Boolean.FALSE);
     }
 
+    private Mono<List<BulkItemResult<CustomerType>>> insertAll(List<CustomerTypeRequest> requests,
+                                                               Map<String, SubType> subTypes) {
+        List<BulkItemResult<CustomerType>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<CustomerType> customerTypes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            CustomerTypeRequest request = requests.get(index);
+            // The streamed ingest is not bean-validated, so the blank value is rejected here as well.
+            if (request.getValue() == null || request.getValue().isBlank()) {
+                results.set(index, BulkItemResult.invalid(index, "The 'value' field cannot be blank"));
+                continue;
+            }
+            SubType subType = request.getSubType() == null || request.getSubType().getId() == null
+                    ? null
+                    : subTypes.get(request.getSubType().getId());
+            if (subType == null) {
+                results.set(index, BulkItemResult.invalid(index, "SubType not found"));
+                continue;
+            }
+            CustomerType customerType;
+            try {
+                customerType = customerTypeMapper.toCustomerType(request);
+            } catch (IllegalArgumentException exception) {
+                results.set(index, BulkItemResult.invalid(index, "Invalid value: " + request.getValue()));
+                continue;
+            }
+            customerType.setId(new ObjectId().toHexString());
+            customerType.setSubType(subType);
+            customerTypes.add(customerType);
+            positions.add(index);
+        }
+
+        return typeCustomerRepository.insertUnordered(customerTypes)
+                .map(failures -> {
+                    for (int position = 0; position < customerTypes.size(); position++) {
+                        int index = positions.get(position);
+                        CustomerType customerType = customerTypes.get(position);
+                        if (failures.containsKey(position)) {
+                            results.set(index, BulkItemResult.failed(index, failures.get(position)));
+                        } else {
+                            results.set(index, BulkItemResult.created(index, customerType));
+                        }
+                    }
+                    return results;
+                });
+    }
+
     @Override
     public Mono<SubType> checkSubType(String id) {
         return subTypeServiceImpl.findById(id);
@@ -1,48 +1,196 @@
 package com.dataprogramming.profile.service.impl;
 
+import com.dataprogramming.profile.catalog.CatalogInvalidationBus;
+import com.dataprogramming.profile.catalog.CatalogSnapshotStore;
+import com.dataprogramming.profile.catalog.SubTypeCatalog;
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.IngestAck;
 import com.dataprogramming.profile.dto.SubTypeRequest;
 import com.dataprogramming.profile.entity.SubType;
 import com.dataprogramming.profile.mapper.SubTypeMapper;
+import com.dataprogramming.profile.model.EnumCatalogEntity;
 import com.dataprogramming.profile.repository.SubTypeRepository;
 import com.dataprogramming.profile.service.SubTypeService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SubTypeServiceImpl implements SubTypeService {
 
     private final SubTypeRepository subTypeRepository;
     private final SubTypeMapper subTypeMapper;
+    private final SubTypeCatalog subTypeCatalog;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final CatalogInvalidationBus catalogInvalidationBus;
+    private final CatalogProperties catalogProperties;
 
     @Override
     public Mono<SubType> create(SubTypeRequest subTypeRequest) {
         SubType subType = subTypeMapper.toSubType(subTypeRequest);
-        return subTypeRepository.save(subType);
+        return subTypeRepository.save(subType)
+                .doOnNext(subTypeCatalog::put)
+                .doOnNext(saved -> catalogSnapshotStore.requestRebuild())
+                .doOnNext(saved -> catalogInvalidationBus.publish(EnumCatalogEntity.SUB_TYPE, saved.getId()));
     }
 
     @Override
     public Flux<SubType> findAll() {
-        return subTypeRepository.findAll();
+        return catalogSnapshotStore.subTypes();
+    }
+
+    @Override
+    public Flux<SubType> findPage(String afterId, int size) {
+        Pageable page = PageRequest.of(0, size, Sort.by("id"));
+        return afterId == null
+                ? subTypeRepository.findAllBy(page)
+                : subTypeRepository.findByIdGreaterThan(afterId, page);
+    }
+
+    @Override
+    public Flux<SubType> stream() {
+        return subTypeRepository.streamAll();
     }
 
     @Override
     public Mono<SubType> findById(String id) {
-        return subTypeRepository.findById(id);
+        return subTypeCatalog.findById(id);
+    }
+
+    @Override
+    public Flux<SubType> findAllById(Collection<String> ids) {
+        return subTypeRepository.findAllById(ids);
+    }
+
+    /**
+     * Creates the SubTypes with a single unordered bulk insert. Ids are assigned up front so each
+     * result can be matched to its request.
+     */
+    @Override
+    public Mono<List<BulkItemResult<SubType>>> createAll(List<SubTypeRequest> requests) {
+        return insertAll(requests)
+                .map(results -> {
+                    List<String> createdIds = results.stream()
+                            .filter(result -> BulkItemResult.CREATED.equals(result.getStatus()))
+                            .map(result -> result.getItem().getId())
+                            .toList();
+                    if (!createdIds.isEmpty()) {
+                        catalogSnapshotStore.requestRebuild();
+                    }
+                    catalogInvalidationBus.publishAll(EnumCatalogEntity.SUB_TYPE, createdIds);
+                    return results;
+                });
+    }
+
+    /**
+     * Writes the stream batch by batch, only adding the new SubTypes to the local catalog, then
+     * rebuilds the snapshot and announces the write once, so a large ingest does not reload the
+     * catalog on every replica per batch.
+     */
+    @Override
+    public Flux<IngestAck> ingest(Flux<SubTypeRequest> requests) {
+        CatalogProperties.Ingest ingest = catalogProperties.getIngest();
+        AtomicBoolean created = new AtomicBoolean();
+        return requests.buffer(ingest.getBatchSize())
+                .index()
+                .flatMapSequential(batch -> {
+                    long offset = batch.getT1() * ingest.getBatchSize();
+                    return insertAll(batch.getT2())
+                            .map(results -> IngestAck.of(batch.getT1(), offset, results))
+                            .doOnNext(ack -> {
+                                if (ack.getCreated() > 0) {
+                                    created.set(true);
+                                }
+                            })
+                            .onErrorResume(throwable -> {
+                                log.error("SubType ingest batch {} failed: {}", batch.getT1(), throwable.getMessage());
+                                return Mono.just(IngestAck.failed(batch.getT1(), offset, batch.getT2().size(),
+                                        throwable.getMessage()));
+                            });
+                }, ingest.getConcurrency(), 1)
+                .concatWith(Mono.fromRunnable(() -> announceIngest(created)))
+                .doOnError(throwable -> announceIngest(created))
+                .doOnCancel(() -> announceIngest(created));
+    }
+
+    private void announceIngest(AtomicBoolean created) {
+        if (created.getAndSet(false)) {
+            catalogSnapshotStore.requestRebuild();
+            catalogInvalidationBus.publishBulkWrite(EnumCatalogEntity.SUB_TYPE);
+        }
+    }
+
+    private Mono<List<BulkItemResult<SubType>>> insertAll(List<SubTypeRequest> requests) {
+        List<BulkItemResult<SubType>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<SubType> subTypes = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            SubTypeRequest request = requests.get(index);
+            if (request.getValue() == null) {
+                results.set(index, BulkItemResult.invalid(index, "The 'value' field cannot be null"));
+                continue;
+            }
+            SubType subType = subTypeMapper.toSubType(request);
+            subType.setId(new ObjectId().toHexString());
+            subTypes.add(subType);
+            positions.add(index);
+        }
+
+        return subTypeRepository.insertUnordered(subTypes)
+                .map(failures -> {
+                    for (int position = 0; position < subTypes.size(); position++) {
+                        int index = positions.get(position);
+                        SubType subType = subTypes.get(position);
+                        if (failures.containsKey(position)) {
+                            results.set(index, BulkItemResult.failed(index, failures.get(position)));
+                        } else {
+                            subTypeCatalog.put(subType);
+                            results.set(index, BulkItemResult.created(index, subType));
+                        }
+                    }
+                    return results;
+                });
     }
 
+    /**
+     * Sets the value of an existing SubType atomically, without reading it first.
+     *
+     * @return the updated SubType, or empty when it does not exist
+     */
     @Override
     public Mono<SubType> update(SubType profile) {
-        return subTypeRepository.save(profile);
+        return subTypeRepository.updateValue(profile.getId(), profile.getValue())
+                .doOnNext(subTypeCatalog::put)
+                .doOnNext(saved -> catalogSnapshotStore.requestRebuild())
+                .doOnNext(saved -> catalogInvalidationBus.publish(EnumCatalogEntity.SUB_TYPE, saved.getId()));
     }
 
     @Override
     public Mono<Boolean> delete(String id) {
-        return subTypeRepository.findById(id)
-                .flatMap(delete ->
-                        subTypeRepository.delete(delete).then(Mono.just(Boolean.TRUE)))
+        return subTypeRepository.removeById(id)
+                .map(deleted -> {
+                    if (deleted == 0) {
+                        return Boolean.FALSE;
+                    }
+                    subTypeCatalog.evict(id);
+                    catalogSnapshotStore.requestRebuild();
+                    catalogInvalidationBus.publish(EnumCatalogEntity.SUB_TYPE, id);
+                    return Boolean.TRUE;
+                })
                 .defaultIfEmpty(Boolean.FALSE);
     }
 }
@@ -0,0 +1,161 @@
+package com.dataprogramming.profile.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.model.EnumSubType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class BatchLoaderTest {
+
+    private final CatalogProperties.Batching properties = new CatalogProperties().getBatching();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<Collection<String>> queries = new CopyOnWriteArrayList<>();
+
+    private BatchLoader<SubType> batchLoader;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxWait(Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchLoader.shutdown();
+    }
+
+    private BatchLoader<SubType> create(boolean failing) {
+        return new BatchLoader<>("subType", ids -> {
+            queries.add(List.copyOf(ids));
+            return failing
+                    ? Flux.error(new IllegalStateException("mongo down"))
+                    : Flux.fromIterable(ids).filter(id -> !id.startsWith("missing"))
+                            .map(id -> new SubType(id, EnumSubType.NORMAL));
+        }, SubType::getId, properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Return Documents From One Query When Lookups Are Concurrent")
+    void returnDocumentsFromOneQueryWhenLookupsAreConcurrent() {
+        batchLoader = create(false);
+
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> batchLoader.load("id-" + (i % 10))
+                                .map(subType -> subType.getId().equals("id-" + (i % 10))))
+                        .all(Boolean::booleanValue))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertEquals(1, queries.size());
+        assertEquals(10, queries.get(0).size());
+        assertEquals(10.0, meterRegistry.get("catalog.batch.size").summary().max());
+        assertEquals(20, meterRegistry.get("catalog.batch.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Return Empty When Id Does Not Exist")
+    void returnEmptyWhenIdDoesNotExist() {
+        batchLoader = create(false);
+
+        StepVerifier.create(batchLoader.load("missing-1")).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Error To Every Caller When Batched Query Fails")
+    void returnErrorToEveryCallerWhenBatchedQueryFails() {
+        batchLoader = create(true);
+
+        StepVerifier.create(Flux.merge(batchLoader.load("1"), batchLoader.load("2")))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    @DisplayName("Return Document From Direct Query When Batching Is Disabled")
+    void returnDocumentFromDirectQueryWhenBatchingIsDisabled() {
+        properties.setEnabled(false);
+        batchLoader = create(false);
+
+        StepVerifier.create(batchLoader.load("1"))
+                .expectNextMatches(subType -> subType.getId().equals("1"))
+                .verifyComplete();
+        assertEquals(List.of(List.of("1")), queries);
+    }
+
+    @Test
+    @DisplayName("Return Documents When Timer Fires While Every Batch Slot Is Busy")
+    void returnDocumentsWhenTimerFiresWhileEveryBatchSlotIsBusy() {
+        properties.setMaxWait(Duration.ofMillis(10));
+        properties.setMaxConcurrentBatches(1);
+        batchLoader = new BatchLoader<>("subType", ids -> {
+            queries.add(List.copyOf(ids));
+            return Flux.fromIterable(ids).map(id -> new SubType(id, EnumSubType.NORMAL))
+                    .delayElements(Duration.ofMillis(150));
+        }, SubType::getId, properties, meterRegistry);
+
+        StepVerifier.create(Flux.merge(
+                        batchLoader.load("1"),
+                        Mono.delay(Duration.ofMillis(50)).then(batchLoader.load("2")),
+                        Mono.delay(Duration.ofMillis(80)).then(batchLoader.load("3")))
+                        .count())
+                .expectNext(3L)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(batchLoader.load("4"))
+                .expectNextMatches(subType -> subType.getId().equals("4"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Return Timeout Error When Batched Query Hangs")
+    void returnTimeoutErrorWhenBatchedQueryHangs() {
+        properties.setMaxWait(Duration.ofMillis(10));
+        properties.setTimeout(Duration.ofMillis(100));
+        AtomicInteger calls = new AtomicInteger();
+        batchLoader = new BatchLoader<>("subType", ids -> calls.getAndIncrement() == 0
+                ? Flux.never()
+                : Flux.fromIterable(ids).map(id -> new SubType(id, EnumSubType.NORMAL)),
+                SubType::getId, properties, meterRegistry);
+
+        StepVerifier.create(batchLoader.load("1"))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(batchLoader.load("1"))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Return Document When Requested Id Differs Only In Case")
+    void returnDocumentWhenRequestedIdDiffersOnlyInCase() {
+        String id = "65A1F0C2B3D4E5F607182930";
+        batchLoader = new BatchLoader<>("subType", ids -> Flux.fromIterable(ids)
+                .map(requested -> new SubType(requested.toLowerCase(), EnumSubType.NORMAL)),
+                SubType::getId, properties, meterRegistry);
+
+        StepVerifier.create(batchLoader.load(id))
+                .expectNextMatches(subType -> subType.getId().equals(id.toLowerCase()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,272 @@
+package com.dataprogramming.profile.catalog;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CatalogInvalidation;
+import com.dataprogramming.profile.model.EnumCatalogEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogInvalidationBusTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private SubTypeCatalog subTypeCatalog;
+
+    @Mock
+    private CustomerTypeNearCache customerTypeNearCache;
+
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    private final CatalogProperties catalogProperties = new CatalogProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CatalogInvalidationBus catalogInvalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        catalogInvalidationBus = new CatalogInvalidationBus(reactiveMongoTemplate, subTypeCatalog,
+                customerTypeNearCache, catalogSnapshotStore, catalogProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogInvalidationBus.stop();
+    }
+
+    @Test
+    @DisplayName("Return Stored Invalidation When Publishing A Write")
+    void returnStoredInvalidationWhenPublishingAWrite() {
+        when(reactiveMongoTemplate.insertAll(any(Collection.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Collection<?>>getArgument(0)));
+
+        catalogInvalidationBus.publish(EnumCatalogEntity.SUB_TYPE, "1");
+
+        verify(reactiveMongoTemplate, timeout(1000)).insertAll(
+                argThat((Collection<CatalogInvalidation> invalidations) ->
+                        invalidations.size() == 1
+                                && invalidations.stream().allMatch(invalidation ->
+                                invalidation.getEntity() == EnumCatalogEntity.SUB_TYPE
+                                        && "1".equals(invalidation.getEntityId())
+                                        && catalogInvalidationBus.getInstanceId().equals(invalidation.getOrigin()))));
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> assertEquals(1.0,
+                meterRegistry.get("catalog.invalidation.published").tag("outcome", "success").counter().count()));
+    }
+
+    @Test
+    @DisplayName("Return Error Count When Publishing Fails")
+    void returnErrorCountWhenPublishingFails() {
+        when(reactiveMongoTemplate.insertAll(any(Collection.class)))
+                .thenReturn(Flux.error(new IllegalStateException("mongo down")));
+
+        catalogInvalidationBus.publish(EnumCatalogEntity.CUSTOMER_TYPE, "1");
+
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> assertEquals(1.0,
+                meterRegistry.get("catalog.invalidation.published").tag("outcome", "error").counter().count()));
+    }
+
+    @Test
+    @DisplayName("Return Stored Invalidations When Publishing A Bulk Write")
+    void returnStoredInvalidationsWhenPublishingABulkWrite() {
+        when(reactiveMongoTemplate.insertAll(any(Collection.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Collection<?>>getArgument(0)));
+
+        catalogInvalidationBus.publishAll(EnumCatalogEntity.CUSTOMER_TYPE, List.of("1", "2"));
+        catalogInvalidationBus.publishAll(EnumCatalogEntity.CUSTOMER_TYPE, List.of());
+
+        verify(reactiveMongoTemplate, timeout(1000)).insertAll(
+                argThat((Collection<CatalogInvalidation> invalidations) ->
+                        invalidations.size() == 2
+                                && invalidations.stream().allMatch(invalidation ->
+                                invalidation.getEntity() == EnumCatalogEntity.CUSTOMER_TYPE)));
+        await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> assertEquals(2.0,
+                meterRegistry.get("catalog.invalidation.published").tag("outcome", "success").counter().count()));
+    }
+
+    @Test
+    @DisplayName("Return Dropped Count When Too Many Invalidations Are Pending")
+    void returnDroppedCountWhenTooManyInvalidationsArePending() {
+        catalogProperties.getInvalidation().setMaxPendingPublishes(1);
+        when(reactiveMongoTemplate.insertAll(any(Collection.class))).thenReturn(Flux.never());
+
+        catalogInvalidationBus.publish(EnumCatalogEntity.SUB_TYPE, "1");
+        catalogInvalidationBus.publish(EnumCatalogEntity.SUB_TYPE, "2");
+
+        assertEquals(1.0, meterRegistry.get("catalog.invalidation.published").tag("outcome", "dropped")
+                .counter().count());
+        verify(reactiveMongoTemplate, timeout(1000)).insertAll(any(Collection.class));
+    }
+
+    @Test
+    @DisplayName("Return Without Publishing When Bus Is Disabled")
+    void returnWithoutPublishingWhenBusIsDisabled() {
+        catalogProperties.getInvalidation().setEnabled(false);
+
+        catalogInvalidationBus.start();
+        catalogInvalidationBus.publish(EnumCatalogEntity.SUB_TYPE, "1");
+
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Return Evicted Entries When Remote Invalidations Arrive")
+    void returnEvictedEntriesWhenRemoteInvalidationsArrive() {
+        catalogInvalidationBus.apply(remote(EnumCatalogEntity.SUB_TYPE, "1"));
+        catalogInvalidationBus.apply(remote(EnumCatalogEntity.CUSTOMER_TYPE, "2"));
+
+        verify(subTypeCatalog).evict("1");
+        verify(customerTypeNearCache).invalidate("2");
+        verify(catalogSnapshotStore, times(2)).requestRebuild();
+        assertEquals(1, meterRegistry.get("catalog.invalidation.lag").tag("entity", "SUB_TYPE").timer().count());
+    }
+
+    @Test
+    @DisplayName("Return Flushed Entity Caches When Remote Bulk Write Arrives")
+    void returnFlushedEntityCachesWhenRemoteBulkWriteArrives() {
+        when(subTypeCatalog.reload()).thenReturn(Mono.empty());
+
+        catalogInvalidationBus.apply(remote(EnumCatalogEntity.SUB_TYPE, null));
+        catalogInvalidationBus.apply(remote(EnumCatalogEntity.CUSTOMER_TYPE, null));
+
+        verify(subTypeCatalog).reload();
+        verify(customerTypeNearCache).invalidateAll();
+        verify(catalogSnapshotStore, times(2)).requestRebuild();
+    }
+
+    @Test
+    @DisplayName("Return Unchanged Caches When Invalidation Is Local Or A Marker")
+    void returnUnchangedCachesWhenInvalidationIsLocalOrAMarker() {
+        CatalogInvalidation local = remote(EnumCatalogEntity.SUB_TYPE, "1");
+        local.setOrigin(catalogInvalidationBus.getInstanceId());
+
+        catalogInvalidationBus.apply(local);
+        catalogInvalidationBus.apply(remote(null, null));
+
+        verifyNoInteractions(subTypeCatalog, customerTypeNearCache, catalogSnapshotStore);
+    }
+
+    @Test
+    @DisplayName("Return Capped Collection When It Does Not Exist")
+    void returnCappedCollectionWhenItDoesNotExist() {
+        when(reactiveMongoTemplate.collectionExists(CatalogInvalidation.class)).thenReturn(Mono.just(false));
+        when(reactiveMongoTemplate.createCollection(eq(CatalogInvalidation.class), any(CollectionOptions.class)))
+                .thenReturn(Mono.error(new IllegalStateException("collection already exists")));
+
+        StepVerifier.create(catalogInvalidationBus.createCollection()).verifyComplete();
+
+        verify(reactiveMongoTemplate).createCollection(eq(CatalogInvalidation.class),
+                argThat((CollectionOptions options) -> options.getCapped().orElse(false)
+                        && options.getMaxDocuments().orElse(0L) == 10_000L));
+    }
+
+    @Test
+    @DisplayName("Return Only Invalidations After The Newest When Cursor Replays The Collection")
+    void returnOnlyInvalidationsAfterTheNewestWhenCursorReplaysTheCollection() {
+        CatalogInvalidation older = stored("650000000000000000000001", EnumCatalogEntity.SUB_TYPE, "older");
+        CatalogInvalidation newest = stored("650000020000000000000002", EnumCatalogEntity.SUB_TYPE, "newest");
+        // Published by a replica whose clock lags, so its id sorts below the newest one.
+        CatalogInvalidation lagging = stored("650000010000000000000003", EnumCatalogEntity.SUB_TYPE, "lagging");
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(CatalogInvalidation.class)))
+                .thenReturn(Mono.just(newest));
+        when(reactiveMongoTemplate.tail(any(Query.class), eq(CatalogInvalidation.class)))
+                .thenAnswer(invocation -> Flux.just(older, newest, lagging));
+        when(subTypeCatalog.reload()).thenReturn(Mono.empty());
+
+        StepVerifier.create(catalogInvalidationBus.tail()).expectNext(lagging).verifyComplete();
+        verify(subTypeCatalog).evict("lagging");
+        verify(subTypeCatalog, never()).evict("older");
+        verify(reactiveMongoTemplate).tail(argThat((Query query) -> query.getQueryObject().isEmpty()),
+                eq(CatalogInvalidation.class));
+
+        StepVerifier.create(catalogInvalidationBus.tail()).expectNext(lagging).verifyComplete();
+        verify(customerTypeNearCache).invalidateAll();
+        verify(subTypeCatalog).reload();
+    }
+
+    @Test
+    @DisplayName("Return Flushed Caches When Newest Document Was Evicted Before The Cursor Reached It")
+    void returnFlushedCachesWhenNewestDocumentWasEvictedBeforeTheCursorReachedIt() {
+        catalogProperties.getInvalidation().setMaxDocuments(2);
+        CatalogInvalidation newest = stored("650000000000000000000001", EnumCatalogEntity.SUB_TYPE, "newest");
+        CatalogInvalidation first = stored("650000010000000000000002", EnumCatalogEntity.SUB_TYPE, "first");
+        CatalogInvalidation second = stored("650000010000000000000003", EnumCatalogEntity.SUB_TYPE, "second");
+        CatalogInvalidation third = stored("650000010000000000000004", EnumCatalogEntity.SUB_TYPE, "third");
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(CatalogInvalidation.class)))
+                .thenReturn(Mono.just(newest));
+        // By the time the cursor reads the collection the newest document has been overwritten.
+        when(reactiveMongoTemplate.tail(any(Query.class), eq(CatalogInvalidation.class)))
+                .thenReturn(Flux.just(first, second, third));
+        when(subTypeCatalog.reload()).thenReturn(Mono.empty());
+
+        StepVerifier.create(catalogInvalidationBus.tail()).expectNext(third).verifyComplete();
+
+        verify(customerTypeNearCache).invalidateAll();
+        verify(subTypeCatalog).reload();
+        verify(subTypeCatalog).evict("third");
+    }
+
+    @Test
+    @DisplayName("Return Marker Insert When Collection Is Empty")
+    void returnMarkerInsertWhenCollectionIsEmpty() {
+        when(reactiveMongoTemplate.collectionExists(CatalogInvalidation.class)).thenReturn(Mono.just(true));
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(CatalogInvalidation.class))).thenReturn(Mono.empty());
+        when(reactiveMongoTemplate.insert(any(CatalogInvalidation.class))).thenAnswer(invocation -> {
+            CatalogInvalidation marker = invocation.getArgument(0);
+            marker.setId("650000000000000000000001");
+            return Mono.just(marker);
+        });
+        when(reactiveMongoTemplate.tail(any(Query.class), eq(CatalogInvalidation.class))).thenReturn(Flux.never());
+
+        catalogInvalidationBus.start();
+
+        verify(reactiveMongoTemplate, timeout(1000)).tail(any(Query.class), eq(CatalogInvalidation.class));
+        verify(reactiveMongoTemplate).insert(argThat((CatalogInvalidation marker) -> marker.getEntity() == null));
+    }
+
+    private static CatalogInvalidation stored(String id, EnumCatalogEntity entity, String entityId) {
+        CatalogInvalidation invalidation = remote(entity, entityId);
+        invalidation.setId(id);
+        return invalidation;
+    }
+
+    private static CatalogInvalidation remote(EnumCatalogEntity entity, String entityId) {
+        return CatalogInvalidation.builder()
+                .entity(entity)
+                .entityId(entityId)
+                .origin("another-replica")
+                .publishedAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.dataprogramming.profile.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.repository.SubTypeRepository;
+import com.dataprogramming.profile.repository.TypeCustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotStoreTest {
+
+    @Mock
+    private TypeCustomerRepository typeCustomerRepository;
+
+    @Mock
+    private SubTypeRepository subTypeRepository;
+
+    private final CatalogProperties catalogProperties = new CatalogProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    private CustomerType customerType;
+
+    private SubType subType;
+
+    @BeforeEach
+    void setUp() {
+        subType = new SubType("1", EnumSubType.NORMAL);
+        customerType = new CustomerType("1", EnumCustomerType.PERSONAL, subType);
+        catalogSnapshotStore = new CatalogSnapshotStore(
+                typeCustomerRepository, subTypeRepository, catalogProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalogSnapshotStore.stop();
+    }
+
+    @Test
+    @DisplayName("Return Mongo Results When Snapshot Is Not Loaded")
+    void returnMongoResultsWhenSnapshotIsNotLoaded() {
+        when(typeCustomerRepository.findAll()).thenReturn(Flux.just(customerType));
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(catalogSnapshotStore.customerTypes()).expectNext(customerType).verifyComplete();
+        StepVerifier.create(catalogSnapshotStore.subTypes()).expectNext(subType).verifyComplete();
+
+        assertFalse(catalogSnapshotStore.current().isLoaded());
+    }
+
+    @Test
+    @DisplayName("Return Snapshot Contents When Snapshot Is Built")
+    void returnSnapshotContentsWhenSnapshotIsBuilt() {
+        stubCounts(1, 1);
+        when(typeCustomerRepository.findAll()).thenReturn(Flux.just(customerType));
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(catalogSnapshotStore.rebuild())
+                .expectNextMatches(snapshot -> snapshot.version() == 1)
+                .verifyComplete();
+        StepVerifier.create(catalogSnapshotStore.customerTypes()).expectNext(customerType).verifyComplete();
+        StepVerifier.create(catalogSnapshotStore.subTypes()).expectNext(subType).verifyComplete();
+
+        verify(typeCustomerRepository, times(1)).findAll();
+        verify(subTypeRepository, times(1)).findAll();
+        assertEquals(1.0, meterRegistry.get("catalog.snapshot.version").gauge().value());
+        assertEquals(1, meterRegistry.get("catalog.snapshot.build").timer().count());
+        assertThrows(UnsupportedOperationException.class,
+                () -> catalogSnapshotStore.current().customerTypes().add(customerType));
+    }
+
+    @Test
+    @DisplayName("Return New Version When Rebuild Is Requested")
+    void returnNewVersionWhenRebuildIsRequested() {
+        catalogProperties.getSnapshot().setRefreshInterval(Duration.ofHours(1));
+        stubCounts(1, 1);
+        when(typeCustomerRepository.findAll()).thenReturn(Flux.just(customerType));
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+
+        catalogSnapshotStore.start();
+        awaitVersion(1);
+        catalogSnapshotStore.requestRebuild();
+        awaitVersion(2);
+
+        assertEquals(2, catalogSnapshotStore.current().version());
+    }
+
+    @Test
+    @DisplayName("Return Previous Snapshot When Rebuild Fails")
+    void returnPreviousSnapshotWhenRebuildFails() {
+        catalogProperties.getSnapshot().setRefreshInterval(Duration.ofHours(1));
+        stubCounts(1, 1);
+        when(typeCustomerRepository.findAll())
+                .thenReturn(Flux.just(customerType))
+                .thenReturn(Flux.error(new IllegalStateException("mongo down")))
+                .thenReturn(Flux.just(customerType));
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+
+        catalogSnapshotStore.start();
+        awaitVersion(1);
+        catalogSnapshotStore.requestRebuild();
+        catalogSnapshotStore.requestRebuild();
+        awaitVersion(2);
+
+        StepVerifier.create(catalogSnapshotStore.customerTypes()).expectNext(customerType).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Mongo Results When Snapshot Is Disabled")
+    void returnMongoResultsWhenSnapshotIsDisabled() {
+        catalogProperties.getSnapshot().setEnabled(false);
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+
+        catalogSnapshotStore.start();
+        catalogSnapshotStore.requestRebuild();
+
+        StepVerifier.create(catalogSnapshotStore.subTypes()).expectNext(subType).verifyComplete();
+        assertEquals(0, catalogSnapshotStore.current().version());
+    }
+
+    @Test
+    @DisplayName("Return Mongo Results When Catalog Exceeds Snapshot Max Entries")
+    void returnMongoResultsWhenCatalogExceedsSnapshotMaxEntries() {
+        catalogProperties.getSnapshot().setMaxEntries(1);
+        stubCounts(1, 1);
+        when(typeCustomerRepository.findAll()).thenReturn(Flux.just(customerType));
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(catalogSnapshotStore.rebuild())
+                .expectNextMatches(snapshot -> !snapshot.isLoaded())
+                .verifyComplete();
+        StepVerifier.create(catalogSnapshotStore.customerTypes()).expectNext(customerType).verifyComplete();
+        StepVerifier.create(catalogSnapshotStore.subTypes()).expectNext(subType).verifyComplete();
+
+        assertFalse(catalogSnapshotStore.current().isLoaded());
+        verify(typeCustomerRepository, times(1)).findAll();
+        verify(subTypeRepository, times(1)).findAll();
+        assertEquals(1.0, meterRegistry.get("catalog.snapshot.skipped").counter().count());
+        assertEquals(0, meterRegistry.get("catalog.snapshot.build").timer().count());
+    }
+
+    @Test
+    @DisplayName("Return Dropped Snapshot When Catalog Outgrows Max Entries Between Count And Load")
+    void returnDroppedSnapshotWhenCatalogOutgrowsMaxEntriesBetweenCountAndLoad() {
+        catalogProperties.getSnapshot().setMaxEntries(2);
+        stubCounts(1, 1);
+        when(typeCustomerRepository.findAll()).thenReturn(Flux.just(customerType, customerType));
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(catalogSnapshotStore.rebuild())
+                .expectNextMatches(snapshot -> !snapshot.isLoaded())
+                .verifyComplete();
+
+        assertFalse(catalogSnapshotStore.current().isLoaded());
+        assertEquals(1.0, meterRegistry.get("catalog.snapshot.skipped").counter().count());
+    }
+
+    private void stubCounts(long customerTypes, long subTypes) {
+        when(typeCustomerRepository.count()).thenReturn(Mono.just(customerTypes));
+        when(subTypeRepository.count()).thenReturn(Mono.just(subTypes));
+    }
+
+    private void awaitVersion(long version) {
+        StepVerifier.create(Mono.fromSupplier(catalogSnapshotStore::current)
+                        .filter(snapshot -> snapshot.version() >= version)
+                        .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(10))))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+}
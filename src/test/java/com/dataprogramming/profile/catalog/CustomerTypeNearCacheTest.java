@@ -0,0 +1,102 @@
+package com.dataprogramming.profile.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.model.EnumCustomerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class CustomerTypeNearCacheTest {
+
+    private final CatalogProperties catalogProperties = new CatalogProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CustomerType customerType;
+
+    private Function<String, Mono<CustomerType>> loader;
+
+    @BeforeEach
+    void setUp() {
+        customerType = new CustomerType("1", EnumCustomerType.PERSONAL, null);
+        loader = id -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return "1".equals(id) ? customerType : null;
+        });
+    }
+
+    @Test
+    @DisplayName("Return Cached CustomerType When Found Twice")
+    void returnCachedCustomerTypeWhenFoundTwice() {
+        CustomerTypeNearCache nearCache = new CustomerTypeNearCache(catalogProperties, meterRegistry);
+
+        StepVerifier.create(nearCache.get("1", loader)).expectNext(customerType).verifyComplete();
+        StepVerifier.create(nearCache.get("1", loader)).expectNext(customerType).verifyComplete();
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "customerType").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Return One Load When Concurrent Misses Share It")
+    void returnOneLoadWhenConcurrentMissesShareIt() {
+        CustomerTypeNearCache nearCache = new CustomerTypeNearCache(catalogProperties, meterRegistry);
+        Function<String, Mono<CustomerType>> slowLoader = id -> loader.apply(id).delayElement(Duration.ofMillis(50));
+
+        StepVerifier.create(Flux.range(0, 10).flatMap(i -> nearCache.get("1", slowLoader)).count())
+                .expectNext(10L)
+                .verifyComplete();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Return Fresh CustomerType When Entry Is Invalidated")
+    void returnFreshCustomerTypeWhenEntryIsInvalidated() {
+        CustomerTypeNearCache nearCache = new CustomerTypeNearCache(catalogProperties, meterRegistry);
+
+        StepVerifier.create(nearCache.get("1", loader)).expectNext(customerType).verifyComplete();
+        nearCache.invalidate("1");
+        nearCache.invalidate(null);
+        StepVerifier.create(nearCache.get("1", loader)).expectNext(customerType).verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Return Empty Without Caching When CustomerType Does Not Exist")
+    void returnEmptyWithoutCachingWhenCustomerTypeDoesNotExist() {
+        CustomerTypeNearCache nearCache = new CustomerTypeNearCache(catalogProperties, meterRegistry);
+
+        StepVerifier.create(nearCache.get("2", loader)).verifyComplete();
+        StepVerifier.create(nearCache.get("2", loader)).verifyComplete();
+
+        assertEquals(2, loads.get());
+        assertEquals(0, nearCache.size());
+    }
+
+    @Test
+    @DisplayName("Return Loader Result When Near Cache Is Disabled")
+    void returnLoaderResultWhenNearCacheIsDisabled() {
+        catalogProperties.getCustomerType().setEnabled(false);
+        CustomerTypeNearCache nearCache = new CustomerTypeNearCache(catalogProperties, meterRegistry);
+
+        StepVerifier.create(nearCache.get("1", loader)).expectNext(customerType).verifyComplete();
+        StepVerifier.create(nearCache.get("1", loader)).expectNext(customerType).verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+}
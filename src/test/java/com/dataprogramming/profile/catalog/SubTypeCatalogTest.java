@@ -0,0 +1,178 @@
+package com.dataprogramming.profile.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.profile.concurrent.SingleFlight;
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.repository.SubTypeRepository;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class SubTypeCatalogTest {
+
+    @Mock
+    private SubTypeRepository subTypeRepository;
+
+    @Mock
+    private BatchLoader<SubType> subTypeBatchLoader;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final CatalogProperties catalogProperties = new CatalogProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SubTypeCatalog subTypeCatalog;
+
+    private SubType normal;
+
+    @BeforeEach
+    void setUp() {
+        subTypeCatalog = new SubTypeCatalog(subTypeRepository, subTypeBatchLoader,
+                new SingleFlight<>(meterRegistry.counter("requests"), meterRegistry.counter("joined")),
+                reactiveMongoTemplate, catalogProperties);
+        normal = new SubType("1", EnumSubType.NORMAL);
+    }
+
+    @Test
+    @DisplayName("Return SubType From Memory When Catalog Is Loaded")
+    void returnSubTypeFromMemoryWhenCatalogIsLoaded() {
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(normal, new SubType("2", EnumSubType.VIP)));
+
+        StepVerifier.create(subTypeCatalog.reload()).verifyComplete();
+        StepVerifier.create(subTypeCatalog.findById("1"))
+                .expectNext(normal)
+                .verifyComplete();
+
+        assertEquals(2, subTypeCatalog.size());
+        verify(subTypeBatchLoader, never()).load(anyString());
+    }
+
+    @Test
+    @DisplayName("Return Newer Changes When They Happen While Reload Is Reading")
+    void returnNewerChangesWhenTheyHappenWhileReloadIsReading() {
+        SubType vip = new SubType("2", EnumSubType.VIP);
+        SubType created = new SubType("3", EnumSubType.NORMAL);
+        when(subTypeRepository.findAll()).thenReturn(Flux.defer(() -> {
+            // The change stream applies these while the reload query is still in flight.
+            subTypeCatalog.evict("1");
+            subTypeCatalog.put(created);
+            return Flux.just(normal, vip);
+        }));
+
+        StepVerifier.create(subTypeCatalog.reload()).verifyComplete();
+
+        assertEquals(2, subTypeCatalog.size());
+        StepVerifier.create(subTypeCatalog.findById("2")).expectNext(vip).verifyComplete();
+        StepVerifier.create(subTypeCatalog.findById("3")).expectNext(created).verifyComplete();
+        verify(subTypeBatchLoader, never()).load(anyString());
+    }
+
+    @Test
+    @DisplayName("Return Reloaded SubType When It Changed Before The Reload Started")
+    void returnReloadedSubTypeWhenItChangedBeforeTheReloadStarted() {
+        subTypeCatalog.evict("1");
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(normal));
+
+        StepVerifier.create(subTypeCatalog.reload()).verifyComplete();
+
+        StepVerifier.create(subTypeCatalog.findById("1")).expectNext(normal).verifyComplete();
+        verify(subTypeBatchLoader, never()).load(anyString());
+    }
+
+    @Test
+    @DisplayName("Return SubType From Mongo When Catalog Misses")
+    void returnSubTypeFromMongoWhenCatalogMisses() {
+        when(subTypeBatchLoader.load("1")).thenReturn(Mono.just(normal));
+
+        StepVerifier.create(subTypeCatalog.findById("1")).expectNext(normal).verifyComplete();
+        StepVerifier.create(subTypeCatalog.findById("1")).expectNext(normal).verifyComplete();
+
+        verify(subTypeBatchLoader, times(1)).load("1");
+    }
+
+    @Test
+    @DisplayName("Return One Read When Concurrent Lookups Miss The Same Id")
+    void returnOneReadWhenConcurrentLookupsMissTheSameId() {
+        when(subTypeBatchLoader.load("1")).thenReturn(Mono.just(normal).delayElement(Duration.ofMillis(50)));
+
+        StepVerifier.create(Flux.range(0, 5).flatMap(i -> subTypeCatalog.findById("1")).count())
+                .expectNext(5L)
+                .verifyComplete();
+
+        verify(subTypeBatchLoader, times(1)).load("1");
+        assertEquals(4.0, meterRegistry.get("joined").counter().count());
+    }
+
+    @Test
+    @DisplayName("Return SubType From Mongo When Catalog Is Disabled")
+    void returnSubTypeFromMongoWhenCatalogIsDisabled() {
+        catalogProperties.getSubType().setEnabled(false);
+        when(subTypeBatchLoader.load("1")).thenReturn(Mono.just(normal));
+
+        subTypeCatalog.start();
+        subTypeCatalog.put(normal);
+        StepVerifier.create(subTypeCatalog.findById("1")).expectNext(normal).verifyComplete();
+
+        assertEquals(0, subTypeCatalog.size());
+    }
+
+    @Test
+    @DisplayName("Return Removed Entries When Reload Drops Deleted SubTypes")
+    void returnRemovedEntriesWhenReloadDropsDeletedSubTypes() {
+        subTypeCatalog.put(new SubType("9", EnumSubType.PYME));
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(normal));
+
+        StepVerifier.create(subTypeCatalog.reload()).verifyComplete();
+
+        assertEquals(1, subTypeCatalog.size());
+    }
+
+    @Test
+    @DisplayName("Return Updated Catalog When Change Events Are Applied")
+    void returnUpdatedCatalogWhenChangeEventsAreApplied() {
+        SubType vip = new SubType("1", EnumSubType.VIP);
+
+        subTypeCatalog.apply(OperationType.INSERT, "1", normal);
+        subTypeCatalog.apply(OperationType.UPDATE, "1", vip);
+        StepVerifier.create(subTypeCatalog.findById("1")).expectNext(vip).verifyComplete();
+
+        subTypeCatalog.apply(OperationType.UPDATE, "1", null);
+        assertEquals(0, subTypeCatalog.size());
+
+        subTypeCatalog.apply(OperationType.INSERT, "2", new SubType("2", EnumSubType.PYME));
+        subTypeCatalog.apply(OperationType.DELETE, "2", null);
+        subTypeCatalog.apply(null, "2", null);
+        assertEquals(0, subTypeCatalog.size());
+    }
+
+    @Test
+    @DisplayName("Return Reloaded Catalog When Collection Is Dropped")
+    void returnReloadedCatalogWhenCollectionIsDropped() {
+        when(subTypeRepository.findAll()).thenReturn(Flux.just(normal));
+
+        subTypeCatalog.apply(OperationType.DROP, null, null);
+
+        assertEquals(1, subTypeCatalog.size());
+    }
+}
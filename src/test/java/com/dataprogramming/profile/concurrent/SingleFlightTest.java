@@ -0,0 +1,102 @@
+package com.dataprogramming.profile.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private SingleFlight<String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>(meterRegistry.counter("test.requests"), meterRegistry.counter("test.joined"));
+    }
+
+    @Test
+    @DisplayName("Return One Read When Concurrent Reads Share A Key")
+    void returnOneReadWhenConcurrentReadsShareAKey() {
+        StepVerifier.create(Flux.range(0, 10)
+                        .flatMap(i -> singleFlight.execute("1", () -> slowRead("value")))
+                        .collectList())
+                .expectNextMatches(values -> values.size() == 10 && values.stream().allMatch("value"::equals))
+                .verifyComplete();
+
+        assertEquals(1, reads.get());
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals(10.0, meterRegistry.get("test.requests").counter().count());
+        assertEquals(9.0, meterRegistry.get("test.joined").counter().count());
+    }
+
+    @Test
+    @DisplayName("Return Separate Reads When Keys Differ")
+    void returnSeparateReadsWhenKeysDiffer() {
+        StepVerifier.create(Flux.just("1", "2")
+                        .flatMap(key -> singleFlight.execute(key, () -> slowRead(key)))
+                        .count())
+                .expectNext(2L)
+                .verifyComplete();
+
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    @DisplayName("Return Fresh Read When Previous Read Completed")
+    void returnFreshReadWhenPreviousReadCompleted() {
+        StepVerifier.create(singleFlight.execute("1", () -> slowRead("first"))).expectNext("first").verifyComplete();
+        StepVerifier.create(singleFlight.execute("1", () -> slowRead("second"))).expectNext("second").verifyComplete();
+
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    @DisplayName("Return Error To Every Caller When Shared Read Fails")
+    void returnErrorToEveryCallerWhenSharedReadFails() {
+        Mono<String> failing = Mono.delay(Duration.ofMillis(50))
+                .then(Mono.error(new IllegalStateException("mongo down")));
+
+        StepVerifier.create(Flux.range(0, 3)
+                        .flatMapDelayError(i -> singleFlight.execute("1", () -> {
+                            reads.incrementAndGet();
+                            return failing;
+                        }), 3, 1)
+                        .count())
+                .verifyError(IllegalStateException.class);
+
+        assertEquals(1, reads.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Return Empty To Every Caller When Key Does Not Exist")
+    void returnEmptyToEveryCallerWhenKeyDoesNotExist() {
+        StepVerifier.create(Flux.range(0, 5)
+                        .flatMap(i -> singleFlight.execute("2", () -> Mono.delay(Duration.ofMillis(50))
+                                .doOnNext(tick -> reads.incrementAndGet())
+                                .then(Mono.<String>empty())))
+                        .count())
+                .expectNext(0L)
+                .verifyComplete();
+
+        assertEquals(1, reads.get());
+    }
+
+    private Mono<String> slowRead(String value) {
+        return Mono.fromSupplier(() -> {
+            reads.incrementAndGet();
+            return value;
+        }).delayElement(Duration.ofMillis(50));
+    }
+}
@@ -0,0 +1,111 @@
+package com.dataprogramming.profile.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.dataprogramming.profile.security.client.AuthServiceStub;
+import com.dataprogramming.profile.security.client.SecurityClient;
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+class WebClientConfigTest {
+
+    private final WebClientConfig webClientConfig = new WebClientConfig();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SecurityProperties securityProperties = new SecurityProperties();
+
+    private AuthServiceStub authServiceStub;
+
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+        authServiceStub = AuthServiceStub.start(Duration.ofMillis(200));
+        securityProperties.getClient().setBaseUrl(authServiceStub.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        authServiceStub.close();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Return Validation When Security Client Calls The Configured Base Url")
+    void returnValidationWhenSecurityClientCallsTheConfiguredBaseUrl() {
+        SecurityClient securityClient = securityClient();
+
+        StepVerifier.create(securityClient.validateToken("Bearer valid-token"))
+                .expectNextMatches(TokenResponse::isSuccess)
+                .verifyComplete();
+
+        assertEquals(1, authServiceStub.singleCalls());
+    }
+
+    @Test
+    @DisplayName("Return Rejected Acquire When Pending Queue Of The Pool Is Full")
+    void returnRejectedAcquireWhenPendingQueueOfThePoolIsFull() {
+        securityProperties.getClient().getPool().setMaxConnections(1);
+        securityProperties.getClient().getPool().setPendingAcquireMaxCount(1);
+        SecurityClient securityClient = securityClient();
+
+        StepVerifier.create(Flux.range(0, 3)
+                        .flatMap(i -> securityClient.validateToken("Bearer valid-" + i)
+                                .map(response -> "validated")
+                                .onErrorReturn(WebClientRequestException.class, "rejected"))
+                        .collectList())
+                .expectNextMatches(outcomes -> outcomes.stream().filter("rejected"::equals).count() == 1
+                        && outcomes.stream().filter("validated"::equals).count() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Error When Auth Service Exceeds Response Timeout")
+    void returnErrorWhenAuthServiceExceedsResponseTimeout() {
+        securityProperties.getClient().getPool().setResponseTimeout(Duration.ofMillis(50));
+        SecurityClient securityClient = securityClient();
+
+        StepVerifier.create(securityClient.validateToken("Bearer valid-token"))
+                .expectError(WebClientRequestException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Return Pool Gauges When Security Client Connects")
+    void returnPoolGaugesWhenSecurityClientConnects() {
+        securityProperties.getClient().getPool().setMaxConnections(7);
+        SecurityClient securityClient = securityClient();
+
+        StepVerifier.create(securityClient.validateToken("Bearer valid-token"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(7.0, meterRegistry.get("reactor.netty.connection.provider.max.connections")
+                .tag("name", "security-client")
+                .gauge().value());
+        meterRegistry.get("reactor.netty.connection.provider.active.connections").tag("name", "security-client").gauge();
+        meterRegistry.get("reactor.netty.connection.provider.idle.connections").tag("name", "security-client").gauge();
+        meterRegistry.get("reactor.netty.connection.provider.pending.connections").tag("name", "security-client").gauge();
+    }
+
+    private SecurityClient securityClient() {
+        connectionProvider = webClientConfig.securityConnectionProvider(securityProperties);
+        return webClientConfig.securityClient(webClientConfig.securityWebClient(connectionProvider, securityProperties));
+    }
+}
@@ -1,15 +1,25 @@
 package com.dataprogramming.profile.controller;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.when;
 
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.FindByIdsRequest;
+import com.dataprogramming.profile.dto.IngestAck;
+import com.dataprogramming.profile.dto.LookupResult;
+import com.dataprogramming.profile.dto.PageResponse;
+import com.dataprogramming.profile.dto.SubTypeBulkRequest;
 import com.dataprogramming.profile.dto.SubTypeRequest;
 import com.dataprogramming.profile.dto.SubTypeResponse;
 import com.dataprogramming.profile.dto.SubTypeUpdateRequest;
 import com.dataprogramming.profile.entity.SubType;
 import com.dataprogramming.profile.mapper.SubTypeMapper;
 import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.pagination.PageCursor;
 import com.dataprogramming.profile.service.SubTypeService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -113,10 +123,6 @@ class SubTypeControllerTest {
     @DisplayName("Return Ok When Update SubType Exists")
     void returnOkWhenUpdateSubTypeExists() {
 
-        SubType existing = new SubType();
-        existing.setId("123");
-        existing.setValue(EnumSubType.NORMAL);
-
         SubType updated = new SubType();
         updated.setId("123");
         updated.setValue(EnumSubType.VIP);
@@ -125,8 +131,8 @@ class SubTypeControllerTest {
         request.setId("123");
         request.setValue(EnumSubType.VIP);
 
-        when(subTypeService.findById(any())).thenReturn(Mono.just(existing));
-        when(subTypeService.update(any(SubType.class))).thenReturn(Mono.just(updated));
+        when(subTypeService.update(argThat(subType -> "123".equals(subType.getId())
+                && subType.getValue() == EnumSubType.VIP))).thenReturn(Mono.just(updated));
         when(subTypeMapper.toSubTypeResponse(any()))
                 .thenReturn(SubTypeResponse.builder()
                         .id("123")
@@ -149,14 +155,10 @@ class SubTypeControllerTest {
     @DisplayName("Return Error When Update Throws Exception")
     void returnErrorWhenUpdateThrowsException() {
 
-        SubType subType = new SubType();
-        subType.setId("1");
-        subType.setValue(EnumSubType.NORMAL);
         SubTypeUpdateRequest request = new SubTypeUpdateRequest();
         request.setId("123");
         request.setValue(EnumSubType.VIP);
 
-        when(subTypeService.findById(any())).thenReturn(Mono.just(subType));
         when(subTypeService.update(any(SubType.class)))
                 .thenReturn(Mono.error(new RuntimeException("DB error"))); // Simula error
 
@@ -173,14 +175,11 @@ class SubTypeControllerTest {
     @DisplayName("Return Not Found When SubType Does Not Exist")
     void returnNotFoundWhenSubTypeDoesNotExist() {
 
-        SubType subType = new SubType();
-        subType.setId("999");
-        subType.setValue(EnumSubType.PYME);
         SubTypeUpdateRequest request = new SubTypeUpdateRequest();
         request.setId("999");
         request.setValue(EnumSubType.VIP);
 
-        when(subTypeService.findById(any())).thenReturn(Mono.empty());
+        when(subTypeService.update(any(SubType.class))).thenReturn(Mono.empty());
 
         Mono<ResponseEntity<SubTypeResponse>> result = subTypeController.update(request);
 
@@ -348,4 +347,155 @@ class SubTypeControllerTest {
                 )
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("Return Page With Next Cursor When More SubTypes Exist")
+    void returnPageWithNextCursorWhenMoreSubTypesExist() {
+        SubType s1 = new SubType("1", EnumSubType.NORMAL);
+        SubType s2 = new SubType("2", EnumSubType.VIP);
+        SubType s3 = new SubType("3", EnumSubType.PYME);
+
+        when(subTypeService.findPage(isNull(), eq(3)))
+                .thenReturn(Flux.just(s1, s2, s3));
+        when(subTypeMapper.toSubTypeResponse(any()))
+                .thenAnswer(invocation -> SubTypeResponse.builder()
+                        .id(invocation.<SubType>getArgument(0).getId())
+                        .build());
+
+        Mono<ResponseEntity<PageResponse<SubTypeResponse>>> result = subTypeController.listPage(2, null);
+
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.OK
+                        && response.getBody().getItems().size() == 2
+                        && response.getBody().getNextCursor().equals(PageCursor.encode("2")))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Last Page When Cursor Is Given")
+    void returnLastPageWhenCursorIsGiven() {
+        when(subTypeService.findPage("2", 3)).thenReturn(Flux.just(new SubType("3", EnumSubType.PYME)));
+        when(subTypeMapper.toSubTypeResponse(any())).thenReturn(SubTypeResponse.builder().id("3").build());
+
+        Mono<ResponseEntity<PageResponse<SubTypeResponse>>> result =
+                subTypeController.listPage(2, PageCursor.encode("2"));
+
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.getBody().getItems().size() == 1
+                        && response.getBody().getNextCursor() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Bad Request When Page Limit Or Cursor Is Invalid")
+    void returnBadRequestWhenPageLimitOrCursorIsInvalid() {
+        StepVerifier.create(subTypeController.listPage(0, null))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+        StepVerifier.create(subTypeController.listPage(10, "%%%"))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Internal Server Error When Page Query Fails")
+    void returnInternalServerErrorWhenPageQueryFails() {
+        when(subTypeService.findPage(isNull(), eq(11)))
+                .thenReturn(Flux.error(new RuntimeException("mongo down")));
+
+        StepVerifier.create(subTypeController.listPage(10, null))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Streamed SubTypes When Streaming Is Requested")
+    void returnStreamedSubTypesWhenStreamingIsRequested() {
+        SubType s1 = new SubType("1", EnumSubType.NORMAL);
+        when(subTypeService.stream()).thenReturn(Flux.just(s1));
+
+        StepVerifier.create(subTypeController.stream())
+                .expectNext(s1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Results Keyed By Id When Finding Many SubTypes")
+    void returnResultsKeyedByIdWhenFindingManySubTypes() {
+        SubType found = new SubType("1", EnumSubType.VIP);
+        SubTypeResponse foundResponse = SubTypeResponse.builder().id("1").value("VIP").build();
+        when(subTypeService.findAllById(List.of("2", "1"))).thenReturn(Flux.just(found));
+        when(subTypeMapper.toSubTypeResponse(found)).thenReturn(foundResponse);
+
+        StepVerifier.create(subTypeController.findByIds(new FindByIdsRequest(List.of("2", "1", "2"))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.OK
+                        && List.copyOf(response.getBody().keySet()).equals(List.of("2", "1"))
+                        && response.getBody().get("2").getStatus().equals(LookupResult.NOT_FOUND)
+                        && response.getBody().get("2").getItem() == null
+                        && response.getBody().get("1").getStatus().equals(LookupResult.FOUND)
+                        && response.getBody().get("1").getItem() == foundResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Internal Server Error When Finding Many SubTypes Fails")
+    void returnInternalServerErrorWhenFindingManySubTypesFails() {
+        when(subTypeService.findAllById(List.of("1"))).thenReturn(Flux.error(new RuntimeException("boom")));
+
+        StepVerifier.create(subTypeController.findByIds(new FindByIdsRequest(List.of("1"))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Created When Every SubType In The Bulk Is Created")
+    void returnCreatedWhenEverySubTypeInTheBulkIsCreated() {
+        SubTypeRequest request = new SubTypeRequest(EnumSubType.VIP);
+        SubType created = new SubType("1", EnumSubType.VIP);
+        SubTypeResponse createdResponse = SubTypeResponse.builder().id("1").value("VIP").build();
+        when(subTypeService.createAll(List.of(request)))
+                .thenReturn(Mono.just(List.of(BulkItemResult.created(0, created))));
+        when(subTypeMapper.toSubTypeResponse(created)).thenReturn(createdResponse);
+
+        StepVerifier.create(subTypeController.createAll(new SubTypeBulkRequest(List.of(request))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.CREATED
+                        && response.getBody().get(0).getItem() == createdResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Multi Status When Some SubTypes In The Bulk Fail")
+    void returnMultiStatusWhenSomeSubTypesInTheBulkFail() {
+        SubTypeRequest request = new SubTypeRequest(EnumSubType.VIP);
+        when(subTypeService.createAll(List.of(request)))
+                .thenReturn(Mono.just(List.of(BulkItemResult.failed(0, "duplicate key"))));
+
+        StepVerifier.create(subTypeController.createAll(new SubTypeBulkRequest(List.of(request))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.MULTI_STATUS
+                        && response.getBody().get(0).getError().equals("duplicate key"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Internal Server Error When Bulk Create Of SubTypes Fails")
+    void returnInternalServerErrorWhenBulkCreateOfSubTypesFails() {
+        SubTypeRequest request = new SubTypeRequest(EnumSubType.VIP);
+        when(subTypeService.createAll(List.of(request))).thenReturn(Mono.error(new RuntimeException("boom")));
+
+        StepVerifier.create(subTypeController.createAll(new SubTypeBulkRequest(List.of(request))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Batch Acks When Ingesting SubTypes")
+    void returnBatchAcksWhenIngestingSubTypes() {
+        Flux<SubTypeRequest> requests = Flux.just(new SubTypeRequest(EnumSubType.VIP));
+        IngestAck ack = IngestAck.failed(0, 0, 1, "mongo down");
+        when(subTypeService.ingest(requests)).thenReturn(Flux.just(ack));
+
+        StepVerifier.create(subTypeController.ingest(requests))
+                .expectNextMatches(received -> received.getCreated() == 0 && received.getRejected().size() == 1)
+                .verifyComplete();
+    }
 }
@@ -1,20 +1,33 @@
 package com.dataprogramming.profile.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.CustomerTypeBulkRequest;
 import com.dataprogramming.profile.dto.CustomerTypeRequest;
 import com.dataprogramming.profile.dto.CustomerTypeResponse;
 import com.dataprogramming.profile.dto.CustomerTypeUpdateRequest;
+import com.dataprogramming.profile.dto.FindByIdsRequest;
+import com.dataprogramming.profile.dto.IngestAck;
+import com.dataprogramming.profile.dto.LookupResult;
+import com.dataprogramming.profile.dto.PageResponse;
 import com.dataprogramming.profile.entity.CustomerType;
 import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.exception.GlobalExceptionHandler;
 import com.dataprogramming.profile.mapper.CustomerTypeMapper;
 import com.dataprogramming.profile.model.EnumSubType;
 import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.pagination.PageCursor;
+import com.dataprogramming.profile.projection.FieldSelection;
 import com.dataprogramming.profile.service.CustomerTypeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,12 +37,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 class TypeCustomerControllerTest {
@@ -278,4 +296,221 @@ class TypeCustomerControllerTest {
                 .expectNextMatches(r -> r.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Return Page With Next Cursor When More TypeCustomers Exist")
+    void returnPageWithNextCursorWhenMoreTypeCustomersExist() {
+        CustomerType second = new CustomerType("2", EnumCustomerType.PERSONAL, null);
+        CustomerTypeResponse customerResponse = CustomerTypeResponse.builder().id("1").build();
+        when(typeCustomerService.findPage(isNull(), anyInt())).thenReturn(Flux.just(customer, second));
+        when(customerTypeMapper.toTypeCustomerResponse(any())).thenReturn(customerResponse);
+
+        Mono<ResponseEntity<PageResponse<CustomerTypeResponse>>> result = typeCustomerController.listPage(1, null);
+
+        StepVerifier.create(result)
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.OK
+                        && response.getBody().getItems().equals(List.of(customerResponse))
+                        && response.getBody().getNextCursor().equals(PageCursor.encode("1")))
+                .verifyComplete();
+        verify(typeCustomerService).findPage(null, 2);
+    }
+
+    @Test
+    @DisplayName("Return Bad Request When TypeCustomer Page Request Is Invalid")
+    void returnBadRequestWhenTypeCustomerPageRequestIsInvalid() {
+        StepVerifier.create(typeCustomerController.listPage(PageCursor.MAX_LIMIT + 1, null))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+        StepVerifier.create(typeCustomerController.listPage(10, "***"))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+        verify(typeCustomerService, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Return Internal Server Error When TypeCustomer Page Query Fails")
+    void returnInternalServerErrorWhenTypeCustomerPageQueryFails() {
+        when(typeCustomerService.findPage(anyString(), anyInt())).thenReturn(Flux.error(new RuntimeException("boom")));
+
+        StepVerifier.create(typeCustomerController.listPage(10, PageCursor.encode("1")))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Streamed TypeCustomers When Streaming Is Requested")
+    void returnStreamedTypeCustomersWhenStreamingIsRequested() {
+        CustomerTypeResponse customerResponse = CustomerTypeResponse.builder().id("1").build();
+        when(typeCustomerService.stream()).thenReturn(Flux.just(customer));
+        when(customerTypeMapper.toTypeCustomerResponse(customer)).thenReturn(customerResponse);
+
+        StepVerifier.create(typeCustomerController.stream())
+                .expectNext(customerResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Matching TypeCustomers When Searching By Value And SubType")
+    void returnMatchingTypeCustomersWhenSearchingByValueAndSubType() {
+        CustomerTypeResponse customerResponse = CustomerTypeResponse.builder().id("1").build();
+        when(typeCustomerService.search(EnumCustomerType.BUSINESS, EnumSubType.VIP)).thenReturn(Flux.just(customer));
+        when(customerTypeMapper.toTypeCustomerResponse(customer)).thenReturn(customerResponse);
+
+        ResponseEntity<Flux<CustomerTypeResponse>> response =
+                typeCustomerController.search(EnumCustomerType.BUSINESS, EnumSubType.VIP);
+
+        StepVerifier.create(Objects.requireNonNull(response.getBody()))
+                .expectNext(customerResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Bad Request When Search Has No Filter")
+    void returnBadRequestWhenSearchHasNoFilter() {
+        ResponseEntity<Flux<CustomerTypeResponse>> response = typeCustomerController.search(null, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(typeCustomerService, never()).search(any(), any());
+    }
+
+    @Test
+    @DisplayName("Return Trimmed TypeCustomers When Fields Are Requested")
+    void returnTrimmedTypeCustomersWhenFieldsAreRequested() {
+        CustomerTypeResponse customerResponse = CustomerTypeResponse.builder().id("1").value("BUSINESS").build();
+        when(typeCustomerService.findAll(any(FieldSelection.class))).thenReturn(Flux.just(customer));
+        when(customerTypeMapper.toTypeCustomerResponse(customer)).thenReturn(customerResponse);
+
+        ResponseEntity<Flux<Map<String, Object>>> response = typeCustomerController.listFields("id,value");
+
+        StepVerifier.create(Objects.requireNonNull(response.getBody()))
+                .expectNext(Map.of("id", "1", "value", "BUSINESS"))
+                .verifyComplete();
+        assertEquals(HttpStatus.BAD_REQUEST, typeCustomerController.listFields("id,unknown").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Return Trimmed TypeCustomer When Fields Are Requested By Id")
+    void returnTrimmedTypeCustomerWhenFieldsAreRequestedById() {
+        CustomerTypeResponse customerResponse = CustomerTypeResponse.builder().id("1").value("BUSINESS").build();
+        when(typeCustomerService.findById(eq("1"), any(FieldSelection.class))).thenReturn(Mono.just(customer));
+        when(typeCustomerService.findById(eq("2"), any(FieldSelection.class))).thenReturn(Mono.empty());
+        when(customerTypeMapper.toTypeCustomerResponse(customer)).thenReturn(customerResponse);
+
+        StepVerifier.create(typeCustomerController.findById("1", "subType"))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.OK
+                        && response.getBody().keySet().equals(Set.of("subType")))
+                .verifyComplete();
+        StepVerifier.create(typeCustomerController.findById("2", "value"))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.NOT_FOUND)
+                .verifyComplete();
+        StepVerifier.create(typeCustomerController.findById("1", "secret"))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Internal Server Error When Trimmed Find Fails")
+    void returnInternalServerErrorWhenTrimmedFindFails() {
+        when(typeCustomerService.findById(eq("1"), any(FieldSelection.class)))
+                .thenReturn(Mono.error(new RuntimeException("boom")));
+
+        StepVerifier.create(typeCustomerController.findById("1", "id"))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Results Keyed By Id When Finding Many TypeCustomers")
+    void returnResultsKeyedByIdWhenFindingManyTypeCustomers() {
+        CustomerTypeResponse customerResponse = CustomerTypeResponse.builder().id("1").build();
+        when(typeCustomerService.findAllById(List.of("1", "9"))).thenReturn(Flux.just(customer));
+        when(customerTypeMapper.toTypeCustomerResponse(customer)).thenReturn(customerResponse);
+
+        StepVerifier.create(typeCustomerController.findByIds(new FindByIdsRequest(List.of("1", "9"))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.OK
+                        && response.getBody().get("1").getStatus().equals(LookupResult.FOUND)
+                        && response.getBody().get("9").getStatus().equals(LookupResult.NOT_FOUND))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Internal Server Error When Finding Many TypeCustomers Fails")
+    void returnInternalServerErrorWhenFindingManyTypeCustomersFails() {
+        when(typeCustomerService.findAllById(List.of("1"))).thenReturn(Flux.error(new RuntimeException("boom")));
+
+        StepVerifier.create(typeCustomerController.findByIds(new FindByIdsRequest(List.of("1"))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Created When Every TypeCustomer In The Bulk Is Created")
+    void returnCreatedWhenEveryTypeCustomerInTheBulkIsCreated() {
+        CustomerTypeRequest request = new CustomerTypeRequest("PERSONAL", new SubType("1", null));
+        CustomerTypeResponse customerResponse = CustomerTypeResponse.builder().id("1").build();
+        when(typeCustomerService.createAll(List.of(request)))
+                .thenReturn(Mono.just(List.of(BulkItemResult.created(0, customer))));
+        when(customerTypeMapper.toTypeCustomerResponse(customer)).thenReturn(customerResponse);
+
+        StepVerifier.create(typeCustomerController.createAll(new CustomerTypeBulkRequest(List.of(request))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.CREATED
+                        && response.getBody().get(0).getItem() == customerResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Multi Status When Some TypeCustomers In The Bulk Are Rejected")
+    void returnMultiStatusWhenSomeTypeCustomersInTheBulkAreRejected() {
+        CustomerTypeRequest valid = new CustomerTypeRequest("PERSONAL", new SubType("1", null));
+        CustomerTypeRequest invalid = new CustomerTypeRequest("PERSONAL", new SubType("9", null));
+        when(typeCustomerService.createAll(List.of(valid, invalid))).thenReturn(Mono.just(List.of(
+                BulkItemResult.created(0, customer), BulkItemResult.invalid(1, "SubType not found"))));
+        when(customerTypeMapper.toTypeCustomerResponse(customer)).thenReturn(CustomerTypeResponse.builder().build());
+
+        StepVerifier.create(typeCustomerController.createAll(new CustomerTypeBulkRequest(List.of(valid, invalid))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.MULTI_STATUS
+                        && response.getBody().get(1).getStatus().equals(BulkItemResult.INVALID)
+                        && response.getBody().get(1).getItem() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Internal Server Error When Bulk Create Of TypeCustomers Fails")
+    void returnInternalServerErrorWhenBulkCreateOfTypeCustomersFails() {
+        CustomerTypeRequest request = new CustomerTypeRequest("PERSONAL", new SubType("1", null));
+        when(typeCustomerService.createAll(List.of(request))).thenReturn(Mono.error(new RuntimeException("boom")));
+
+        StepVerifier.create(typeCustomerController.createAll(new CustomerTypeBulkRequest(List.of(request))))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Bad Request When A Bulk Item Has No Value")
+    void returnBadRequestWhenABulkItemHasNoValue() {
+        WebTestClient webTestClient = WebTestClient.bindToController(typeCustomerController)
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        webTestClient.post()
+                .uri("/typeCustomer/createAll")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"items\":[{\"value\":null,\"subType\":{\"id\":\"1\"}}]}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(typeCustomerService, never()).createAll(any());
+    }
+
+    @Test
+    @DisplayName("Return Batch Acks When Ingesting TypeCustomers")
+    void returnBatchAcksWhenIngestingTypeCustomers() {
+        Flux<CustomerTypeRequest> requests = Flux.just(new CustomerTypeRequest("PERSONAL", new SubType("1", null)));
+        IngestAck ack = IngestAck.of(0, 0, List.of(BulkItemResult.created(0, customer)));
+        when(typeCustomerService.ingest(requests)).thenReturn(Flux.just(ack));
+
+        StepVerifier.create(typeCustomerController.ingest(requests))
+                .expectNextMatches(received -> received.getCreated() == 1 && received.getRejected().isEmpty())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,36 @@
+package com.dataprogramming.profile.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LookupResultTest {
+
+    @Test
+    @DisplayName("Return Found Entry Keyed By Requested Id When Id Is Requested In Uppercase Hex")
+    void returnFoundEntryKeyedByRequestedIdWhenIdIsRequestedInUppercaseHex() {
+        String requested = "65A1B2C3D4E5F60718293A4B";
+        Map<String, String> found = Map.of("65a1b2c3d4e5f60718293a4b", "item");
+
+        Map<String, LookupResult<String>> results = LookupResult.keyedBy(List.of(requested), found);
+
+        assertEquals(LookupResult.FOUND, results.get(requested).getStatus());
+        assertEquals("item", results.get(requested).getItem());
+    }
+
+    @Test
+    @DisplayName("Return Not Found Entries In Request Order When Ids Were Not Returned")
+    void returnNotFoundEntriesInRequestOrderWhenIdsWereNotReturned() {
+        Map<String, LookupResult<String>> results = LookupResult.keyedBy(List.of("b", "a", "c"), Map.of("a", "item"));
+
+        assertEquals(List.of("b", "a", "c"), List.copyOf(results.keySet()));
+        assertEquals(LookupResult.NOT_FOUND, results.get("b").getStatus());
+        assertNull(results.get("b").getItem());
+        assertEquals(LookupResult.FOUND, results.get("a").getStatus());
+        assertEquals(LookupResult.NOT_FOUND, results.get("c").getStatus());
+    }
+}
@@ -0,0 +1,115 @@
+package com.dataprogramming.profile.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger("access");
+
+    private final ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
+
+    private final AccessLogProperties accessLogProperties = new AccessLogProperties();
+
+    private final AccessLogFilter accessLogFilter = new AccessLogFilter(accessLogProperties);
+
+    @BeforeEach
+    void setUp() {
+        listAppender.start();
+        accessLogger.addAppender(listAppender);
+        accessLogProperties.setSampleRate(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(listAppender);
+    }
+
+    @Test
+    @DisplayName("Return Single Warn Event When Exchange Fails With Server Error")
+    void returnSingleWarnEventWhenExchangeFailsWithServerError() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/typeCustomer/find/1"));
+        exchange.getAttributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                PathPatternParser.defaultInstance.parse("/typeCustomer/find/{id}"));
+
+        StepVerifier.create(accessLogFilter.filter(exchange, filterExchange -> {
+                    filterExchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
+                    return Mono.empty();
+                }))
+                .verifyComplete();
+
+        assertEquals(1, listAppender.list.size());
+        ILoggingEvent event = listAppender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertTrue(event.getFormattedMessage().contains("route=/typeCustomer/find/{id}"));
+        assertTrue(event.getFormattedMessage().contains("status=500"));
+    }
+
+    @Test
+    @DisplayName("Return No Event When Successful Exchange Is Not Sampled")
+    void returnNoEventWhenSuccessfulExchangeIsNotSampled() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/subtype/list"));
+
+        StepVerifier.create(accessLogFilter.filter(exchange, filterExchange -> Mono.empty()))
+                .verifyComplete();
+
+        assertTrue(listAppender.list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Return Info Event When Successful Exchange Is Sampled")
+    void returnInfoEventWhenSuccessfulExchangeIsSampled() {
+        accessLogProperties.setSampleRate(1);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/subtype/list"));
+
+        StepVerifier.create(accessLogFilter.filter(exchange, filterExchange -> Mono.empty()))
+                .verifyComplete();
+
+        assertEquals(1, listAppender.list.size());
+        assertEquals(Level.INFO, listAppender.list.get(0).getLevel());
+        assertTrue(listAppender.list.get(0).getFormattedMessage().contains("route=UNMATCHED"));
+    }
+
+    @Test
+    @DisplayName("Return Warn Event When Exchange Is Slow")
+    void returnWarnEventWhenExchangeIsSlow() {
+        accessLogProperties.setSlowThreshold(Duration.ZERO);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/subtype/list"));
+
+        StepVerifier.create(accessLogFilter.filter(exchange, filterExchange -> Mono.empty()))
+                .verifyComplete();
+
+        assertEquals(1, listAppender.list.size());
+        assertTrue(listAppender.list.get(0).getFormattedMessage().contains("outcome=slow"));
+    }
+
+    @Test
+    @DisplayName("Return No Event When Access Log Is Disabled")
+    void returnNoEventWhenAccessLogIsDisabled() {
+        accessLogProperties.setEnabled(false);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/subtype/list"));
+
+        StepVerifier.create(accessLogFilter.filter(exchange, filterExchange -> Mono.error(new IllegalStateException())))
+                .verifyError(IllegalStateException.class);
+
+        assertTrue(listAppender.list.isEmpty());
+    }
+}
@@ -0,0 +1,111 @@
+package com.dataprogramming.profile.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private MeteredAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        BlockingAppender blockingAppender = new BlockingAppender(release);
+        blockingAppender.setContext(loggerContext);
+        blockingAppender.start();
+
+        appender = new MeteredAsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setName("ASYNC_TEST");
+        appender.setQueueSize(10);
+        appender.setDiscardingThreshold(5);
+        appender.setDiscardLevel("INFO");
+        appender.addAppender(blockingAppender);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Return Discarded Info And Dropped Error Events When Queue Is Saturated")
+    void returnDiscardedInfoAndDroppedErrorEventsWhenQueueIsSaturated() throws InterruptedException {
+        appender.doAppend(event(Level.ERROR));
+        waitUntilWorkerIsBlocked();
+
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(Level.ERROR));
+        }
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.ERROR));
+
+        assertEquals(11, appender.getQueuedCount());
+        assertEquals(1, appender.getDiscardedCount());
+        assertEquals(1, appender.getDroppedCount());
+        assertEquals("INFO", appender.getDiscardLevel());
+    }
+
+    @Test
+    @DisplayName("Return Metrics When Binding Async Appender")
+    void returnMetricsWhenBindingAsyncAppender() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        appender.doAppend(event(Level.WARN));
+
+        new AsyncLoggingMetrics().bind(registry, appender);
+        new AsyncLoggingMetrics().bindTo(registry);
+
+        assertEquals(1, registry.get("logging.async.events")
+                .tag("appender", "ASYNC_TEST").tag("result", "queued").functionCounter().count());
+        assertEquals(0, registry.get("logging.async.events")
+                .tag("appender", "ASYNC_TEST").tag("result", "dropped").functionCounter().count());
+        assertEquals(1, registry.get("logging.async.queue.size").gauges().size());
+    }
+
+    private void waitUntilWorkerIsBlocked() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (appender.getNumberOfElementsInQueue() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private ILoggingEvent event(Level level) {
+        return new LoggingEvent(MeteredAsyncAppenderTest.class.getName(),
+                loggerContext.getLogger("test"), level, "message", null, null);
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch release;
+
+        BlockingAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.dataprogramming.profile.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Return Same Id When Cursor Is Decoded")
+    void returnSameIdWhenCursorIsDecoded() {
+        String cursor = PageCursor.encode("68b1291b753821d691c59c79");
+
+        assertEquals(Optional.of("68b1291b753821d691c59c79"), PageCursor.decode(cursor));
+    }
+
+    @Test
+    @DisplayName("Return Empty When Cursor Is Malformed")
+    void returnEmptyWhenCursorIsMalformed() {
+        assertEquals(Optional.empty(), PageCursor.decode("not a cursor!"));
+        assertEquals(Optional.empty(), PageCursor.decode(""));
+    }
+
+    @Test
+    @DisplayName("Return Valid Limit Only Within Bounds")
+    void returnValidLimitOnlyWithinBounds() {
+        assertTrue(PageCursor.isValidLimit(1));
+        assertTrue(PageCursor.isValidLimit(PageCursor.MAX_LIMIT));
+        assertFalse(PageCursor.isValidLimit(0));
+        assertFalse(PageCursor.isValidLimit(PageCursor.MAX_LIMIT + 1));
+    }
+
+    @Test
+    @DisplayName("Return Next Cursor When More Documents Follow")
+    void returnNextCursorWhenMoreDocumentsFollow() {
+        StepVerifier.create(PageCursor.toPage(Flux.just("a", "b", "c"), 2, Function.identity()))
+                .expectNextMatches(page -> page.getItems().equals(List.of("a", "b"))
+                        && PageCursor.decode(page.getNextCursor()).orElseThrow().equals("b"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return No Cursor When Last Page Is Read")
+    void returnNoCursorWhenLastPageIsRead() {
+        StepVerifier.create(PageCursor.toPage(Flux.just("a", "b"), 2, Function.identity()))
+                .expectNextMatches(page -> page.getItems().equals(List.of("a", "b")) && page.getNextCursor() == null)
+                .verifyComplete();
+    }
+}
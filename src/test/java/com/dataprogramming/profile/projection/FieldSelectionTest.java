@@ -0,0 +1,68 @@
+package com.dataprogramming.profile.projection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.Set;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+class FieldSelectionTest {
+
+    private static final Set<String> ALLOWED = Set.of("id", "value", "subType");
+
+    @Test
+    @DisplayName("Return Selection When Fields Are Known")
+    void returnSelectionWhenFieldsAreKnown() {
+        FieldSelection selection = FieldSelection.parse(" id , value", ALLOWED).orElseThrow();
+
+        assertTrue(selection.includes("id"));
+        assertTrue(selection.includes("value"));
+        assertFalse(selection.includes("subType"));
+    }
+
+    @Test
+    @DisplayName("Return Empty When Fields Are Blank Or Unknown")
+    void returnEmptyWhenFieldsAreBlankOrUnknown() {
+        assertEquals(Optional.empty(), FieldSelection.parse(" ", ALLOWED));
+        assertEquals(Optional.empty(), FieldSelection.parse(null, ALLOWED));
+        assertEquals(Optional.empty(), FieldSelection.parse("id,password", ALLOWED));
+    }
+
+    @Test
+    @DisplayName("Return Projection With Id When Id Is Not Selected")
+    void returnProjectionWithIdWhenIdIsNotSelected() {
+        Document projection = FieldSelection.parse("value", ALLOWED).orElseThrow()
+                .applyTo(new Query())
+                .getFieldsObject();
+
+        assertEquals(1, projection.get("value"));
+        assertEquals(1, projection.get("id"));
+        assertFalse(projection.containsKey("subType"));
+    }
+
+    @Test
+    @DisplayName("Return Projection With Id When Id Is Selected")
+    void returnProjectionWithIdWhenIdIsSelected() {
+        Document projection = FieldSelection.parse("id,subType", ALLOWED).orElseThrow()
+                .applyTo(new Query())
+                .getFieldsObject();
+
+        assertEquals(1, projection.get("subType"));
+        assertEquals(1, projection.get("id"));
+    }
+
+    @Test
+    @DisplayName("Return Non Empty Projection When Only Id Is Selected")
+    void returnNonEmptyProjectionWhenOnlyIdIsSelected() {
+        Document projection = FieldSelection.parse("id", ALLOWED).orElseThrow()
+                .applyTo(new Query())
+                .getFieldsObject();
+
+        assertEquals(Document.parse("{\"id\": 1}"), projection);
+    }
+}
@@ -0,0 +1,188 @@
+package com.dataprogramming.profile.repository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.entity.CustomerType;
+import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.projection.FieldSelection;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryCustomImplTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final CatalogProperties catalogProperties = new CatalogProperties();
+
+    private SubTypeRepositoryCustomImpl subTypeRepository;
+
+    private TypeCustomerRepositoryCustomImpl typeCustomerRepository;
+
+    @Mock
+    private ReactiveBulkOperations bulkOperations;
+
+    @BeforeEach
+    void setUp() {
+        catalogProperties.getStreaming().setBatchSize(50);
+        subTypeRepository = new SubTypeRepositoryCustomImpl(reactiveMongoTemplate, catalogProperties);
+        typeCustomerRepository = new TypeCustomerRepositoryCustomImpl(reactiveMongoTemplate, catalogProperties);
+    }
+
+    @Test
+    @DisplayName("Return Streamed SubTypes When Cursor Batch Size Is Configured")
+    void returnStreamedSubTypesWhenCursorBatchSizeIsConfigured() {
+        SubType subType = new SubType("1", EnumSubType.NORMAL);
+        when(reactiveMongoTemplate.find(any(Query.class), eq(SubType.class))).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(subTypeRepository.streamAll()).expectNext(subType).verifyComplete();
+
+        verify(reactiveMongoTemplate).find(argThat((Query query) -> query.getMeta().getCursorBatchSize() == 50),
+                eq(SubType.class));
+    }
+
+    @Test
+    @DisplayName("Return Streamed TypeCustomers When Cursor Batch Size Is Configured")
+    void returnStreamedTypeCustomersWhenCursorBatchSizeIsConfigured() {
+        CustomerType customerType = new CustomerType("1", EnumCustomerType.BUSINESS, null);
+        when(reactiveMongoTemplate.find(any(Query.class), eq(CustomerType.class))).thenReturn(Flux.just(customerType));
+
+        StepVerifier.create(typeCustomerRepository.streamAll()).expectNext(customerType).verifyComplete();
+
+        verify(reactiveMongoTemplate).find(argThat((Query query) -> query.getMeta().getCursorBatchSize() == 50),
+                eq(CustomerType.class));
+    }
+
+    @Test
+    @DisplayName("Return Projected TypeCustomers When Fields Are Selected")
+    void returnProjectedTypeCustomersWhenFieldsAreSelected() {
+        FieldSelection fields = new FieldSelection(Set.of("value"));
+        CustomerType customerType = new CustomerType(null, EnumCustomerType.BUSINESS, null);
+        when(reactiveMongoTemplate.find(any(Query.class), eq(CustomerType.class))).thenReturn(Flux.just(customerType));
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(CustomerType.class))).thenReturn(Mono.just(customerType));
+
+        StepVerifier.create(typeCustomerRepository.findAllWithFields(fields)).expectNext(customerType).verifyComplete();
+        StepVerifier.create(typeCustomerRepository.findByIdWithFields("1", fields))
+                .expectNext(customerType)
+                .verifyComplete();
+
+        verify(reactiveMongoTemplate).find(argThat((Query query) ->
+                query.getFieldsObject().containsKey("value") && query.getQueryObject().isEmpty()), eq(CustomerType.class));
+        verify(reactiveMongoTemplate).findOne(argThat((Query query) ->
+                query.getFieldsObject().containsKey("value") && "1".equals(query.getQueryObject().get("id"))),
+                eq(CustomerType.class));
+    }
+
+    @Test
+    @DisplayName("Return No Failures When Every TypeCustomer Is Inserted")
+    void returnNoFailuresWhenEveryTypeCustomerIsInserted() {
+        List<CustomerType> customerTypes = List.of(new CustomerType("1", EnumCustomerType.BUSINESS, null));
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CustomerType.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(customerTypes)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.just(mock(BulkWriteResult.class)));
+
+        StepVerifier.create(typeCustomerRepository.insertUnordered(customerTypes))
+                .expectNext(Map.of())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Rejected Positions When Some SubTypes Are Not Inserted")
+    void returnRejectedPositionsWhenSomeSubTypesAreNotInserted() {
+        List<SubType> subTypes = List.of(new SubType("1", EnumSubType.NORMAL), new SubType("1", EnumSubType.VIP));
+        MongoBulkWriteException exception = mock(MongoBulkWriteException.class);
+        when(exception.getWriteErrors())
+                .thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)));
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SubType.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(subTypes)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.error(new DuplicateKeyException("duplicate key", exception)));
+
+        StepVerifier.create(subTypeRepository.insertUnordered(subTypes))
+                .expectNext(Map.of(1, "duplicate key"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Error When Bulk Insert Fails Without Write Errors")
+    void returnErrorWhenBulkInsertFailsWithoutWriteErrors() {
+        List<SubType> subTypes = List.of(new SubType("1", EnumSubType.NORMAL));
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SubType.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(subTypes)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.error(new DataAccessResourceFailureException("timed out")));
+
+        StepVerifier.create(subTypeRepository.insertUnordered(subTypes))
+                .expectError(DataAccessResourceFailureException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Return No Failures Without Writing When Nothing Is Inserted")
+    void returnNoFailuresWithoutWritingWhenNothingIsInserted() {
+        StepVerifier.create(subTypeRepository.insertUnordered(List.of())).expectNext(Map.of()).verifyComplete();
+
+        verifyNoInteractions(reactiveMongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Return Updated SubType When Value Is Modified Atomically")
+    void returnUpdatedSubTypeWhenValueIsModifiedAtomically() {
+        SubType updated = new SubType("1", EnumSubType.VIP);
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(SubType.class))).thenReturn(Mono.just(updated));
+
+        StepVerifier.create(subTypeRepository.updateValue("1", EnumSubType.VIP)).expectNext(updated).verifyComplete();
+
+        verify(reactiveMongoTemplate).findAndModify(argThat((Query query) -> "1".equals(query.getQueryObject().get("id"))),
+                argThat((Update update) -> update.modifies("value")),
+                argThat((FindAndModifyOptions options) -> options.isReturnNew()), eq(SubType.class));
+    }
+
+    @Test
+    @DisplayName("Return Deleted Count When Removing By Id")
+    void returnDeletedCountWhenRemovingById() {
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(CustomerType.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(SubType.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+
+        StepVerifier.create(typeCustomerRepository.removeById("1")).expectNext(1L).verifyComplete();
+        StepVerifier.create(subTypeRepository.removeById("2")).expectNext(0L).verifyComplete();
+
+        verify(reactiveMongoTemplate).remove(argThat((Query query) -> "1".equals(query.getQueryObject().get("id"))),
+                eq(CustomerType.class));
+    }
+}
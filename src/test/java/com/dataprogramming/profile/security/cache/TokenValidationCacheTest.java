@@ -0,0 +1,129 @@
+package com.dataprogramming.profile.security.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenValidationCacheTest {
+
+    private static final TokenResponse VALID = TokenResponse.builder().success(true).message("Token is valid").build();
+
+    private final SecurityProperties securityProperties = new SecurityProperties();
+
+    private TokenValidationCache tokenValidationCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenValidationCache = new TokenValidationCache(securityProperties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Return Cached Validation When Token Was Validated")
+    void returnCachedValidationWhenTokenWasValidated() {
+        String header = jwt(Instant.now().plusSeconds(600));
+        String key = tokenValidationCache.keyOf(header);
+
+        tokenValidationCache.put(key, header, VALID);
+
+        assertSame(VALID, tokenValidationCache.get(key).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Return Hashed Key When Computing Cache Key")
+    void returnHashedKeyWhenComputingCacheKey() {
+        String key = tokenValidationCache.keyOf("Bearer secret-token");
+
+        assertEquals(64, key.length());
+        assertFalse(key.contains("secret-token"));
+        assertEquals(key, tokenValidationCache.keyOf("Bearer secret-token"));
+        assertNotEquals(key, tokenValidationCache.keyOf("Bearer other-token"));
+    }
+
+    @Test
+    @DisplayName("Return Empty When Rejected Validation Is Stored")
+    void returnEmptyWhenRejectedValidationIsStored() {
+        String header = jwt(Instant.now().plusSeconds(600));
+        String key = tokenValidationCache.keyOf(header);
+
+        tokenValidationCache.put(key, header, TokenResponse.builder().success(false).message("Token is invalid").build());
+        tokenValidationCache.put(key, header, null);
+
+        assertEquals(Optional.empty(), tokenValidationCache.get(key));
+    }
+
+    @Test
+    @DisplayName("Return Empty When Token Expires Before Configured Ttl")
+    void returnEmptyWhenTokenExpiresBeforeConfiguredTtl() throws InterruptedException {
+        String header = jwt(Instant.now().plusSeconds(1));
+        String key = tokenValidationCache.keyOf(header);
+
+        tokenValidationCache.put(key, header, VALID);
+        Thread.sleep(1_100);
+
+        assertEquals(Optional.empty(), tokenValidationCache.get(key));
+    }
+
+    @Test
+    @DisplayName("Return Empty When Token Is Already Expired")
+    void returnEmptyWhenTokenIsAlreadyExpired() {
+        String header = jwt(Instant.now().minusSeconds(5));
+        String key = tokenValidationCache.keyOf(header);
+
+        tokenValidationCache.put(key, header, VALID);
+
+        assertEquals(Optional.empty(), tokenValidationCache.get(key));
+    }
+
+    @Test
+    @DisplayName("Return Empty When Configured Ttl Elapses Before Token Expiry")
+    void returnEmptyWhenConfiguredTtlElapsesBeforeTokenExpiry() throws InterruptedException {
+        securityProperties.getCache().setTtl(Duration.ofMillis(200));
+        setUp();
+        String header = jwt(Instant.now().plusSeconds(600));
+        String opaque = "Bearer opaque-token";
+
+        tokenValidationCache.put(tokenValidationCache.keyOf(header), header, VALID);
+        tokenValidationCache.put(tokenValidationCache.keyOf(opaque), opaque, VALID);
+        assertTrue(tokenValidationCache.get(tokenValidationCache.keyOf(opaque)).isPresent());
+        Thread.sleep(300);
+
+        assertEquals(Optional.empty(), tokenValidationCache.get(tokenValidationCache.keyOf(header)));
+        assertEquals(Optional.empty(), tokenValidationCache.get(tokenValidationCache.keyOf(opaque)));
+    }
+
+    @Test
+    @DisplayName("Return Empty When Cache Is Disabled")
+    void returnEmptyWhenCacheIsDisabled() {
+        securityProperties.getCache().setEnabled(false);
+        setUp();
+        String header = jwt(Instant.now().plusSeconds(600));
+        String key = tokenValidationCache.keyOf(header);
+
+        tokenValidationCache.put(key, header, VALID);
+
+        assertEquals(Optional.empty(), tokenValidationCache.get(key));
+    }
+
+    private static String jwt(Instant expiry) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return "Bearer " + encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(("{\"sub\":\"jdoe\",\"exp\":" + expiry.getEpochSecond() + "}")
+                .getBytes(StandardCharsets.UTF_8))
+                + ".signature";
+    }
+}
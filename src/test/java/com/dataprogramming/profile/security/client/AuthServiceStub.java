@@ -0,0 +1,98 @@
+package com.dataprogramming.profile.security.client;
+
+import com.dataprogramming.profile.security.domain.TokenBatchRequest;
+import com.dataprogramming.profile.security.domain.TokenBatchResponse;
+import com.dataprogramming.profile.security.domain.TokenData;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Local stand-in for the auth service used by tests and benchmarks. It answers both the single
+ * and the batch validation endpoints after a fixed latency; tokens starting with "Bearer valid"
+ * are accepted and every other token is rejected.
+ */
+public class AuthServiceStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private final DisposableServer server;
+
+    private AuthServiceStub(Duration latency) {
+        this.server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .post("/auth/validate", (request, response) -> {
+                            singleCalls.incrementAndGet();
+                            TokenResponse result = validate(request.requestHeaders().get(HttpHeaders.AUTHORIZATION));
+                            if (!result.isSuccess()) {
+                                return response.status(401).send();
+                            }
+                            return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .sendString(Mono.just(toJson(result)).delayElement(latency));
+                        })
+                        .post("/auth/validate/batch", (request, response) -> {
+                            batchCalls.incrementAndGet();
+                            return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .sendString(request.receive().aggregate().asString()
+                                            .map(this::validateBatch)
+                                            .delayElement(latency));
+                        }))
+                .bindNow();
+    }
+
+    public static AuthServiceStub start(Duration latency) {
+        return new AuthServiceStub(latency);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public int singleCalls() {
+        return singleCalls.get();
+    }
+
+    public int batchCalls() {
+        return batchCalls.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private String validateBatch(String body) {
+        try {
+            TokenBatchRequest batch = objectMapper.readValue(body, TokenBatchRequest.class);
+            return toJson(new TokenBatchResponse(batch.getTokens().stream().map(this::validate).toList()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private TokenResponse validate(String authorizationHeader) {
+        boolean valid = authorizationHeader != null && authorizationHeader.startsWith("Bearer valid");
+        return TokenResponse.builder()
+                .success(valid)
+                .message(valid ? "Token is valid" : "Token is invalid")
+                .data(valid ? TokenData.builder().token(authorizationHeader).username("stub").enabled(true).build() : null)
+                .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
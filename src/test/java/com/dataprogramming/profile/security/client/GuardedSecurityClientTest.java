@@ -0,0 +1,167 @@
+package com.dataprogramming.profile.security.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class GuardedSecurityClientTest {
+
+    private static final String TOKEN = "Bearer token";
+
+    private final SecurityClient securityClient = mock(SecurityClient.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SecurityProperties securityProperties;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new SecurityProperties();
+        securityProperties.getClient().setTimeout(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Return Validation When Auth Service Answers")
+    void returnValidationWhenAuthServiceAnswers() {
+        TokenResponse valid = TokenResponse.builder().success(true).build();
+        when(securityClient.validateToken(TOKEN)).thenReturn(Mono.just(valid));
+
+        StepVerifier.create(guardedSecurityClient().validateToken(TOKEN))
+                .expectNext(valid)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Unavailable Error When Auth Service Times Out")
+    void returnUnavailableErrorWhenAuthServiceTimesOut() {
+        when(securityClient.validateToken(TOKEN)).thenReturn(Mono.never());
+
+        StepVerifier.create(guardedSecurityClient().validateToken(TOKEN))
+                .expectErrorMatches(throwable -> throwable instanceof AuthServiceUnavailableException
+                        && throwable.getCause() instanceof TimeoutException)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Return Unavailable Error When Bulkhead Is Full")
+    void returnUnavailableErrorWhenBulkheadIsFull() {
+        securityProperties.getClient().setTimeout(Duration.ofSeconds(5));
+        securityProperties.getClient().getBulkhead().setMaxConcurrentCalls(1);
+        when(securityClient.validateToken(TOKEN)).thenReturn(Mono.never());
+        GuardedSecurityClient guardedSecurityClient = guardedSecurityClient();
+
+        Disposable pending = guardedSecurityClient.validateToken(TOKEN).subscribe();
+        try {
+            StepVerifier.create(guardedSecurityClient.validateToken(TOKEN))
+                    .expectErrorMatches(throwable -> throwable instanceof AuthServiceUnavailableException
+                            && throwable.getCause() instanceof BulkheadFullException)
+                    .verify(Duration.ofSeconds(5));
+        } finally {
+            pending.dispose();
+        }
+        verify(securityClient, times(1)).validateToken(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Return Primary Result When Hedge Finds Bulkhead Full")
+    void returnPrimaryResultWhenHedgeFindsBulkheadFull() {
+        securityProperties.getClient().setTimeout(Duration.ofSeconds(1));
+        securityProperties.getClient().getBulkhead().setMaxConcurrentCalls(1);
+        SecurityProperties.Hedge hedge = securityProperties.getClient().getHedge();
+        hedge.setEnabled(true);
+        hedge.setDelay(Duration.ofMillis(20));
+        hedge.setMaxRatio(1.0);
+        TokenResponse valid = TokenResponse.builder().success(true).build();
+        when(securityClient.validateToken(TOKEN)).thenReturn(Mono.just(valid).delayElement(Duration.ofMillis(100)));
+
+        StepVerifier.create(guardedSecurityClient().validateToken(TOKEN))
+                .expectNext(valid)
+                .verifyComplete();
+
+        verify(securityClient, times(1)).validateToken(TOKEN);
+        assertEquals(1.0, meterRegistry.get("security.client.hedge").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    @DisplayName("Return Unavailable Error Without Calling Auth Service When Circuit Is Open")
+    void returnUnavailableErrorWithoutCallingAuthServiceWhenCircuitIsOpen() {
+        SecurityProperties.CircuitBreaker breaker = securityProperties.getClient().getCircuitBreaker();
+        breaker.setSlidingWindowSize(2);
+        breaker.setMinimumNumberOfCalls(2);
+        when(securityClient.validateToken(TOKEN)).thenReturn(Mono.error(WebClientResponseException.create(
+                500, "Internal Server Error", null, null, null)));
+        GuardedSecurityClient guardedSecurityClient = guardedSecurityClient();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(guardedSecurityClient.validateToken(TOKEN))
+                    .expectError(AuthServiceUnavailableException.class)
+                    .verify();
+        }
+        StepVerifier.create(guardedSecurityClient.validateToken(TOKEN))
+                .expectErrorMatches(throwable -> throwable instanceof AuthServiceUnavailableException
+                        && throwable.getCause() instanceof CallNotPermittedException)
+                .verify();
+
+        verify(securityClient, times(2)).validateToken(TOKEN);
+    }
+
+    @Test
+    @DisplayName("Return Unavailable Error When Auth Service Is Unreachable")
+    void returnUnavailableErrorWhenAuthServiceIsUnreachable() {
+        when(securityClient.validateToken(TOKEN)).thenReturn(Mono.error(new WebClientRequestException(
+                new ConnectException("Connection refused"), HttpMethod.POST,
+                URI.create("http://localhost:8010/auth/validate"), new HttpHeaders())));
+
+        StepVerifier.create(guardedSecurityClient().validateToken(TOKEN))
+                .expectError(AuthServiceUnavailableException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Return Unauthorized Error Without Opening Circuit When Auth Service Rejects Token")
+    void returnUnauthorizedErrorWithoutOpeningCircuitWhenAuthServiceRejectsToken() {
+        SecurityProperties.CircuitBreaker breaker = securityProperties.getClient().getCircuitBreaker();
+        breaker.setSlidingWindowSize(2);
+        breaker.setMinimumNumberOfCalls(2);
+        when(securityClient.validateToken(anyString())).thenReturn(Mono.error(WebClientResponseException.create(
+                401, "Unauthorized", null, null, null)));
+        GuardedSecurityClient guardedSecurityClient = guardedSecurityClient();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(guardedSecurityClient.validateToken(TOKEN))
+                    .expectErrorMatches(throwable -> throwable instanceof WebClientResponseException.Unauthorized)
+                    .verify();
+        }
+
+        verify(securityClient, times(3)).validateToken(TOKEN);
+    }
+
+    private GuardedSecurityClient guardedSecurityClient() {
+        return new GuardedSecurityClient(securityClient, Optional.empty(),
+                new HedgingPolicy(securityProperties, meterRegistry), securityProperties, meterRegistry);
+    }
+}
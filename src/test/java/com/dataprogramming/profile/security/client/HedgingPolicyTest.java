@@ -0,0 +1,139 @@
+package com.dataprogramming.profile.security.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class HedgingPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private SecurityProperties securityProperties;
+
+    @BeforeEach
+    void setUp() {
+        securityProperties = new SecurityProperties();
+        SecurityProperties.Hedge hedge = securityProperties.getClient().getHedge();
+        hedge.setEnabled(true);
+        hedge.setDelay(Duration.ofMillis(50));
+        hedge.setMaxRatio(1.0);
+        hedge.setMaxBurst(10);
+    }
+
+    @Test
+    @DisplayName("Return Single Attempt When Hedging Is Disabled")
+    void returnSingleAttemptWhenHedgingIsDisabled() {
+        securityProperties.getClient().getHedge().setEnabled(false);
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(securityProperties, meterRegistry);
+
+        Supplier<Mono<Integer>> call = attempts(Duration.ofMillis(500), Duration.ofMillis(10));
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.apply(call))
+                .thenAwait(Duration.ofMillis(500))
+                .expectNext(1)
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Return Primary Result Without Hedge When It Answers Before The Delay")
+    void returnPrimaryResultWithoutHedgeWhenItAnswersBeforeTheDelay() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(securityProperties, meterRegistry);
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.apply(attempts(Duration.ofMillis(40))))
+                .thenAwait(Duration.ofMillis(40))
+                .expectNext(1)
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, hedges("sent"));
+    }
+
+    @Test
+    @DisplayName("Return Hedge Result And Cancel Primary When Primary Is Slower Than The Delay")
+    void returnHedgeResultAndCancelPrimaryWhenPrimaryIsSlowerThanTheDelay() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(securityProperties, meterRegistry);
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        List<Supplier<Mono<Integer>>> calls = List.of(
+                () -> Mono.delay(Duration.ofMillis(500)).thenReturn(1).doOnCancel(() -> primaryCancelled.set(true)),
+                () -> Mono.delay(Duration.ofMillis(10)).thenReturn(2));
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.apply(calls(calls)))
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(49))
+                .then(() -> assertEquals(1, attempts.get()))
+                .thenAwait(Duration.ofMillis(11))
+                .expectNext(2)
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        assertTrue(primaryCancelled.get());
+        assertEquals(1.0, hedges("sent"));
+    }
+
+    @Test
+    @DisplayName("Return Primary Result When Hedge Fails")
+    void returnPrimaryResultWhenHedgeFails() {
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(securityProperties, meterRegistry);
+        List<Supplier<Mono<Integer>>> calls = List.of(
+                () -> Mono.delay(Duration.ofMillis(100)).thenReturn(1),
+                () -> Mono.error(new IllegalStateException("bulkhead full")));
+
+        StepVerifier.withVirtualTime(() -> hedgingPolicy.apply(calls(calls)))
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext(1)
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Return Throttled Hedges When Budget Is Spent")
+    void returnThrottledHedgesWhenBudgetIsSpent() {
+        securityProperties.getClient().getHedge().setMaxRatio(0.5);
+        securityProperties.getClient().getHedge().setMaxBurst(1);
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(securityProperties, meterRegistry);
+        Supplier<Mono<Integer>> slowCall = () -> Mono.delay(Duration.ofMillis(100)).thenReturn(1);
+
+        for (int call = 0; call < 4; call++) {
+            StepVerifier.withVirtualTime(() -> hedgingPolicy.apply(slowCall))
+                    .thenAwait(Duration.ofMillis(100))
+                    .expectNext(1)
+                    .verifyComplete();
+        }
+
+        // Each call saves half a hedge, so only every second slow call may be hedged.
+        assertEquals(2.0, hedges("sent"));
+        assertEquals(2.0, hedges("throttled"));
+    }
+
+    private Supplier<Mono<Integer>> calls(List<Supplier<Mono<Integer>>> calls) {
+        return () -> calls.get(attempts.getAndIncrement()).get();
+    }
+
+    private Supplier<Mono<Integer>> attempts(Duration... latencies) {
+        return () -> {
+            int attempt = attempts.getAndIncrement();
+            return Mono.delay(latencies[attempt]).thenReturn(attempt + 1);
+        };
+    }
+
+    private double hedges(String result) {
+        return meterRegistry.get("security.client.hedge").tag("result", result).counter().count();
+    }
+}
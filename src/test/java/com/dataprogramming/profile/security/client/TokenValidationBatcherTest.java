@@ -0,0 +1,163 @@
+package com.dataprogramming.profile.security.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenBatchResponse;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.dataprogramming.profile.security.jwt.InvalidTokenException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.function.client.support.WebClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class TokenValidationBatcherTest {
+
+    private AuthServiceStub authServiceStub;
+
+    private SecurityProperties securityProperties;
+
+    private TokenValidationBatcher tokenValidationBatcher;
+
+    @BeforeEach
+    void setUp() {
+        authServiceStub = AuthServiceStub.start(Duration.ofMillis(5));
+        securityProperties = new SecurityProperties();
+        securityProperties.getClient().getBatch().setMaxSize(20);
+        securityProperties.getClient().getBatch().setMaxWait(Duration.ofMillis(200));
+        tokenValidationBatcher = new TokenValidationBatcher(stubClient(), securityProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokenValidationBatcher.shutdown();
+        authServiceStub.close();
+    }
+
+    @Test
+    @DisplayName("Return Results In One Batch When Validating Concurrent Tokens")
+    void returnResultsInOneBatchWhenValidatingConcurrentTokens() {
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> tokenValidationBatcher.validate("Bearer valid-" + i)
+                                .map(response -> response.getData().getToken().equals("Bearer valid-" + i)))
+                        .all(Boolean::booleanValue))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertEquals(1, authServiceStub.batchCalls());
+        assertEquals(0, authServiceStub.singleCalls());
+    }
+
+    @Test
+    @DisplayName("Return Error When Batch Rejects Token")
+    void returnErrorWhenBatchRejectsToken() {
+        StepVerifier.create(tokenValidationBatcher.validate("Bearer expired"))
+                .expectError(InvalidTokenException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Return Results When Timer Fires While Every Batch Slot Is Busy")
+    void returnResultsWhenTimerFiresWhileEveryBatchSlotIsBusy() {
+        tokenValidationBatcher.shutdown();
+        authServiceStub.close();
+        authServiceStub = AuthServiceStub.start(Duration.ofMillis(150));
+        securityProperties.getClient().getBatch().setMaxSize(2);
+        securityProperties.getClient().getBatch().setMaxWait(Duration.ofMillis(10));
+        securityProperties.getClient().getBatch().setMaxConcurrentBatches(1);
+        tokenValidationBatcher = new TokenValidationBatcher(stubClient(), securityProperties);
+
+        StepVerifier.create(Flux.range(0, 6)
+                        .delayElements(Duration.ofMillis(30))
+                        .flatMap(i -> tokenValidationBatcher.validate("Bearer valid-" + i))
+                        .count())
+                .expectNext(6L)
+                .verifyComplete();
+
+        StepVerifier.create(tokenValidationBatcher.validate("Bearer valid-after"))
+                .expectNextMatches(TokenResponse::isSuccess)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Unavailable Error When Batch Response Misses Token")
+    void returnUnavailableErrorWhenBatchResponseMissesToken() {
+        SecurityClient securityClient = mock(SecurityClient.class);
+        when(securityClient.validateTokens(any())).thenReturn(Mono.just(new TokenBatchResponse(
+                List.of(TokenResponse.builder().success(true).message("Token is valid").build()))));
+        tokenValidationBatcher.shutdown();
+        tokenValidationBatcher = new TokenValidationBatcher(securityClient, securityProperties);
+
+        StepVerifier.create(Flux.just("Bearer valid-0", "Bearer valid-1")
+                        .flatMapSequentialDelayError(token -> tokenValidationBatcher.validate(token)
+                                .map(TokenResponse::isSuccess), 2, 1))
+                .expectNext(true)
+                .expectError(AuthServiceUnavailableException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Return Unavailable Error When Batch Response Is Empty")
+    void returnUnavailableErrorWhenBatchResponseIsEmpty() {
+        SecurityClient securityClient = mock(SecurityClient.class);
+        when(securityClient.validateTokens(any())).thenReturn(Mono.empty());
+        tokenValidationBatcher.shutdown();
+        tokenValidationBatcher = new TokenValidationBatcher(securityClient, securityProperties);
+
+        StepVerifier.create(tokenValidationBatcher.validate("Bearer valid-0"))
+                .expectError(AuthServiceUnavailableException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Return Upstream Error To Every Caller When Batch Call Fails")
+    void returnUpstreamErrorToEveryCallerWhenBatchCallFails() {
+        SecurityClient securityClient = mock(SecurityClient.class);
+        when(securityClient.validateTokens(any())).thenReturn(Mono.error(WebClientResponseException.create(
+                503, "Service Unavailable", null, null, null)));
+        tokenValidationBatcher.shutdown();
+        tokenValidationBatcher = new TokenValidationBatcher(securityClient, securityProperties);
+
+        StepVerifier.create(Flux.range(0, 3)
+                        .flatMap(i -> tokenValidationBatcher.validate("Bearer valid-" + i)
+                                .map(response -> "validated")
+                                .onErrorReturn(WebClientResponseException.class, "failed"))
+                        .all("failed"::equals))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Timeout Error When Batch Call Hangs")
+    void returnTimeoutErrorWhenBatchCallHangs() {
+        SecurityClient securityClient = mock(SecurityClient.class);
+        when(securityClient.validateTokens(any())).thenReturn(Mono.never());
+        securityProperties.getClient().setTimeout(Duration.ofMillis(100));
+        tokenValidationBatcher.shutdown();
+        tokenValidationBatcher = new TokenValidationBatcher(securityClient, securityProperties);
+
+        StepVerifier.create(tokenValidationBatcher.validate("Bearer valid-0"))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private SecurityClient stubClient() {
+        return HttpServiceProxyFactory
+                .builderFor(WebClientAdapter.create(WebClient.builder().baseUrl(authServiceStub.baseUrl()).build()))
+                .build()
+                .createClient(SecurityClient.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.dataprogramming.profile.security.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.dataprogramming.profile.security.client.AuthServiceUnavailableException;
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.config.SecurityProperties.Access;
+import com.dataprogramming.profile.security.domain.TokenData;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.dataprogramming.profile.security.jwt.InvalidTokenException;
+import com.dataprogramming.profile.security.policy.RoutePolicyTable;
+import com.dataprogramming.profile.security.service.TokenValidationService;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class SecurityAndRequestIdFilterTest {
+
+    private static final String TOKEN = "Bearer token";
+
+    private final TokenValidationService tokenValidationService = mock(TokenValidationService.class);
+
+    private final AtomicBoolean chainCalled = new AtomicBoolean();
+
+    private final WebFilterChain chain = exchange -> {
+        chainCalled.set(true);
+        return Mono.empty();
+    };
+
+    private SecurityAndRequestIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityProperties.Route adminRoute = new SecurityProperties.Route();
+        adminRoute.setPattern("/subtype/delete/{id}");
+        adminRoute.setAccess(Access.ROLE);
+        adminRoute.setRoles(List.of("ADMIN"));
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.getRoutes().add(adminRoute);
+        filter = new SecurityAndRequestIdFilter(tokenValidationService,
+                new RoutePolicyTable(securityProperties), exchange -> "generated-id");
+    }
+
+    @Test
+    @DisplayName("Return Unauthorized When Authorization Header Is Missing")
+    void returnUnauthorizedWhenAuthorizationHeaderIsMissing() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/subtype/find/1"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertFalse(chainCalled.get());
+        verify(tokenValidationService, never()).validate(anyString());
+    }
+
+    @Test
+    @DisplayName("Return Unauthorized When Token Is Invalid")
+    void returnUnauthorizedWhenTokenIsInvalid() {
+        when(tokenValidationService.validate(TOKEN)).thenReturn(Mono.error(new InvalidTokenException("Invalid token")));
+        MockServerWebExchange exchange = exchange("/subtype/find/1");
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertFalse(chainCalled.get());
+    }
+
+    @Test
+    @DisplayName("Return Forbidden When Token Role Is Not Allowed On The Route")
+    void returnForbiddenWhenTokenRoleIsNotAllowedOnTheRoute() {
+        when(tokenValidationService.validate(TOKEN)).thenReturn(Mono.just(tokenWithRole("USER")));
+        MockServerWebExchange exchange = exchange("/subtype/delete/1");
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+        assertFalse(chainCalled.get());
+    }
+
+    @Test
+    @DisplayName("Return Service Unavailable When Auth Service Is Unavailable")
+    void returnServiceUnavailableWhenAuthServiceIsUnavailable() {
+        when(tokenValidationService.validate(TOKEN))
+                .thenReturn(Mono.error(new AuthServiceUnavailableException("Auth service timed out", null)));
+        MockServerWebExchange exchange = exchange("/subtype/find/1");
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+        assertFalse(chainCalled.get());
+    }
+
+    @Test
+    @DisplayName("Return Chain Result When Token Role Is Allowed On The Route")
+    void returnChainResultWhenTokenRoleIsAllowedOnTheRoute() {
+        when(tokenValidationService.validate(TOKEN)).thenReturn(Mono.just(tokenWithRole("ADMIN")));
+        MockServerWebExchange exchange = exchange("/subtype/delete/1");
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertTrue(chainCalled.get());
+    }
+
+    @Test
+    @DisplayName("Return Chain Result Without Validating Token When Path Is Public")
+    void returnChainResultWithoutValidatingTokenWhenPathIsPublic() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertTrue(chainCalled.get());
+        verify(tokenValidationService, never()).validate(anyString());
+    }
+
+    @Test
+    @DisplayName("Return Generated Request Id When Request Has No Request Id Header")
+    void returnGeneratedRequestIdWhenRequestHasNoRequestIdHeader() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/subtype/find/1"));
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals("generated-id",
+                exchange.getResponse().getHeaders().getFirst(SecurityAndRequestIdFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    @DisplayName("Return Incoming Request Id When Request Has Request Id Header")
+    void returnIncomingRequestIdWhenRequestHasRequestIdHeader() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health")
+                .header(SecurityAndRequestIdFilter.REQUEST_ID_HEADER, "incoming-id"));
+
+        StepVerifier.create(filter.filter(exchange, chain).then(exchange.getResponse().setComplete()))
+                .verifyComplete();
+
+        assertEquals("incoming-id",
+                exchange.getResponse().getHeaders().getFirst(SecurityAndRequestIdFilter.REQUEST_ID_HEADER));
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path)
+                .header(HttpHeaders.AUTHORIZATION, TOKEN));
+    }
+
+    private static TokenResponse tokenWithRole(String role) {
+        return TokenResponse.builder()
+                .success(true)
+                .message("Token is valid")
+                .data(TokenData.builder().role(role).enabled(true).build())
+                .build();
+    }
+}
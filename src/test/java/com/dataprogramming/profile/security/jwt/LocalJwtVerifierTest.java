@@ -0,0 +1,262 @@
+package com.dataprogramming.profile.security.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+class LocalJwtVerifierTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static KeyPair trusted;
+
+    private static KeyPair other;
+
+    @BeforeAll
+    static void generateKeys() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        trusted = generator.generateKeyPair();
+        other = generator.generateKeyPair();
+    }
+
+    @Test
+    @DisplayName("Return Verified Token When Signature And Claims Are Valid")
+    void returnVerifiedTokenWhenSignatureAndClaimsAreValid() {
+        LocalJwtVerifier verifier = pemVerifier();
+
+        TokenResponse response = verifier.verify(bearer("RS256", null, claims(), trusted.getPrivate()));
+
+        assertTrue(response.isSuccess());
+        assertEquals("jdoe", response.getData().getUsername());
+        assertEquals("ADMIN", response.getData().getRole());
+    }
+
+    @Test
+    @DisplayName("Return Error When Signature Is Made With Another Key")
+    void returnErrorWhenSignatureIsMadeWithAnotherKey() {
+        LocalJwtVerifier verifier = pemVerifier();
+        String token = bearer("RS256", null, claims(), other.getPrivate());
+
+        assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("Return Error When Payload Is Tampered")
+    void returnErrorWhenPayloadIsTampered() {
+        LocalJwtVerifier verifier = pemVerifier();
+        String[] parts = bearer("RS256", null, claims(), trusted.getPrivate()).split("\\.");
+        Map<String, Object> escalated = claims();
+        escalated.put("role", "ROOT");
+        String token = parts[0] + "." + encode(escalated) + "." + parts[2];
+
+        assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("Return Error When Algorithm Is None")
+    void returnErrorWhenAlgorithmIsNone() {
+        LocalJwtVerifier verifier = pemVerifier();
+        String token = "Bearer " + encode(Map.of("alg", "none")) + "." + encode(claims()) + ".";
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+        assertEquals("Unsupported token algorithm: none", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Return Error When Algorithm Is Not Allowed")
+    void returnErrorWhenAlgorithmIsNotAllowed() {
+        LocalJwtVerifier verifier = pemVerifier();
+        String token = "Bearer " + encode(Map.of("alg", "HS256")) + "." + encode(claims()) + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString("mac".getBytes(StandardCharsets.UTF_8));
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+        assertEquals("Unsupported token algorithm: HS256", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Return Error When Token Is Expired")
+    void returnErrorWhenTokenIsExpired() {
+        LocalJwtVerifier verifier = pemVerifier();
+        Map<String, Object> claims = claims();
+        claims.put("exp", Instant.now().minusSeconds(120).getEpochSecond());
+        String token = bearer("RS256", null, claims, trusted.getPrivate());
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+        assertEquals("Token expired", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Return Error When Token Has No Expiry")
+    void returnErrorWhenTokenHasNoExpiry() {
+        LocalJwtVerifier verifier = pemVerifier();
+        Map<String, Object> claims = claims();
+        claims.remove("exp");
+        String token = bearer("RS256", null, claims, trusted.getPrivate());
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+        assertEquals("Token has no expiry", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Return Error When Token Is Not Yet Valid")
+    void returnErrorWhenTokenIsNotYetValid() {
+        LocalJwtVerifier verifier = pemVerifier();
+        Map<String, Object> claims = claims();
+        claims.put("nbf", Instant.now().plusSeconds(120).getEpochSecond());
+        String token = bearer("RS256", null, claims, trusted.getPrivate());
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+        assertEquals("Token not yet valid", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Return Verified Token When Expiry Is Within Clock Skew")
+    void returnVerifiedTokenWhenExpiryIsWithinClockSkew() {
+        LocalJwtVerifier verifier = pemVerifier();
+        Map<String, Object> claims = claims();
+        claims.put("exp", Instant.now().minusSeconds(10).getEpochSecond());
+
+        assertTrue(verifier.verify(bearer("RS256", null, claims, trusted.getPrivate())).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Return Verified Token When Kid Selects JWKS Key")
+    void returnVerifiedTokenWhenKidSelectsJwksKey() {
+        LocalJwtVerifier verifier = jwksVerifier();
+
+        assertTrue(verifier.verify(bearer("RS384", "other", claims(), other.getPrivate())).isSuccess());
+        assertTrue(verifier.verify(bearer("RS512", "trusted", claims(), trusted.getPrivate())).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Return Error When Kid Is Unknown")
+    void returnErrorWhenKidIsUnknown() {
+        LocalJwtVerifier verifier = jwksVerifier();
+        String token = bearer("RS256", "rotated-out", claims(), trusted.getPrivate());
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+        assertEquals("No key found for token kid: rotated-out", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Return Error When Kid Points To Another Key")
+    void returnErrorWhenKidPointsToAnotherKey() {
+        LocalJwtVerifier verifier = jwksVerifier();
+        String token = bearer("RS256", "trusted", claims(), other.getPrivate());
+
+        assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("Return Error When User Is Disabled")
+    void returnErrorWhenUserIsDisabled() {
+        LocalJwtVerifier verifier = pemVerifier();
+        Map<String, Object> claims = claims();
+        claims.put("enabled", false);
+        String token = bearer("RS256", null, claims, trusted.getPrivate());
+
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> verifier.verify(token));
+        assertEquals("User is disabled", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Return Error When Token Is Not A JWT")
+    void returnErrorWhenTokenIsNotAJwt() {
+        LocalJwtVerifier verifier = pemVerifier();
+
+        assertThrows(InvalidTokenException.class, () -> verifier.verify("Bearer opaque-token"));
+        assertThrows(InvalidTokenException.class, () -> verifier.verify("Bearer a.b.c"));
+    }
+
+    private static LocalJwtVerifier pemVerifier() {
+        String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(trusted.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.getJwt().setPublicKeyLocation(new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII)));
+        return new LocalJwtVerifier(securityProperties, OBJECT_MAPPER);
+    }
+
+    private static LocalJwtVerifier jwksVerifier() {
+        Map<String, Object> jwks = Map.of("keys", List.of(jwk("trusted", trusted), jwk("other", other)));
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.getJwt().setJwksLocation(new ByteArrayResource(json(jwks).getBytes(StandardCharsets.UTF_8)));
+        return new LocalJwtVerifier(securityProperties, OBJECT_MAPPER);
+    }
+
+    private static Map<String, Object> jwk(String kid, KeyPair keyPair) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return Map.of(
+                "kty", "RSA",
+                "kid", kid,
+                "n", encoder.encodeToString(unsigned(publicKey.getModulus().toByteArray())),
+                "e", encoder.encodeToString(unsigned(publicKey.getPublicExponent().toByteArray())));
+    }
+
+    private static byte[] unsigned(byte[] bytes) {
+        return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static Map<String, Object> claims() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", "jdoe");
+        claims.put("role", "ADMIN");
+        claims.put("enabled", true);
+        claims.put("exp", Instant.now().plusSeconds(300).getEpochSecond());
+        return claims;
+    }
+
+    private static String bearer(String alg, String kid, Map<String, Object> claims, PrivateKey privateKey) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", alg);
+        if (kid != null) {
+            header.put("kid", kid);
+        }
+        String signingInput = encode(header) + "." + encode(claims);
+        try {
+            Signature signature = Signature.getInstance("SHA" + alg.substring(2) + "withRSA");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return "Bearer " + signingInput + "."
+                    + Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(Map<String, Object> segment) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json(segment).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String json(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.dataprogramming.profile.security.policy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dataprogramming.profile.security.config.SecurityProperties;
+import com.dataprogramming.profile.security.config.SecurityProperties.Access;
+import com.dataprogramming.profile.security.policy.RoutePolicyTable.RoutePolicy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+
+class RoutePolicyTableTest {
+
+    @Test
+    @DisplayName("Return Earlier Pattern Policy When Later Literal Route Matches The Same Path")
+    void returnEarlierPatternPolicyWhenLaterLiteralRouteMatchesTheSamePath() {
+        RoutePolicyTable table = new RoutePolicyTable(properties(
+                route("/actuator/**", Access.PUBLIC),
+                route("/actuator/env", Access.TOKEN)));
+
+        assertEquals(Access.PUBLIC, table.resolve(PathContainer.parsePath("/actuator/env")).access());
+    }
+
+    @Test
+    @DisplayName("Return Literal Policy When Literal Route Is Configured Before The Pattern")
+    void returnLiteralPolicyWhenLiteralRouteIsConfiguredBeforeThePattern() {
+        RoutePolicyTable table = new RoutePolicyTable(properties(
+                route("/actuator/env", Access.TOKEN),
+                route("/actuator/**", Access.PUBLIC)));
+
+        assertEquals(Access.TOKEN, table.resolve(PathContainer.parsePath("/actuator/env")).access());
+        assertEquals(Access.PUBLIC, table.resolve(PathContainer.parsePath("/actuator/health")).access());
+    }
+
+    @Test
+    @DisplayName("Return Default Access When No Route Matches")
+    void returnDefaultAccessWhenNoRouteMatches() {
+        SecurityProperties securityProperties = properties(route("/actuator/**", Access.PUBLIC));
+        securityProperties.setDefaultAccess(Access.ROLE);
+        RoutePolicyTable table = new RoutePolicyTable(securityProperties);
+
+        RoutePolicy policy = table.resolve(PathContainer.parsePath("/subtype/find/1"));
+
+        assertEquals(Access.ROLE, policy.access());
+        assertTrue(policy.roles().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Return Role Policy Allowing Only Configured Roles When Route Requires A Role")
+    void returnRolePolicyAllowingOnlyConfiguredRolesWhenRouteRequiresARole() {
+        SecurityProperties.Route route = route("/subtype/delete/{id}", Access.ROLE);
+        route.setRoles(List.of("ADMIN"));
+        RoutePolicyTable table = new RoutePolicyTable(properties(route));
+
+        RoutePolicy policy = table.resolve(PathContainer.parsePath("/subtype/delete/1"));
+
+        assertTrue(policy.allowsRole("ADMIN"));
+        assertFalse(policy.allowsRole("USER"));
+        assertFalse(policy.allowsRole(null));
+    }
+
+    private static SecurityProperties properties(SecurityProperties.Route... routes) {
+        SecurityProperties securityProperties = new SecurityProperties();
+        securityProperties.setRoutes(new ArrayList<>(List.of(routes)));
+        return securityProperties;
+    }
+
+    private static SecurityProperties.Route route(String pattern, Access access) {
+        SecurityProperties.Route route = new SecurityProperties.Route();
+        route.setPattern(pattern);
+        route.setAccess(access);
+        return route;
+    }
+}
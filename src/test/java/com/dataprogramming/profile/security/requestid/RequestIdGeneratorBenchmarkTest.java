@@ -0,0 +1,78 @@
+package com.dataprogramming.profile.security.requestid;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Compares request id generators from several threads at once, the way the Netty event loops call
+ * them. Run with {@code mvn test -Dtest=RequestIdGeneratorBenchmarkTest -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RequestIdGeneratorBenchmarkTest {
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    private final ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+            .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+
+    @Test
+    @DisplayName("Compare Request Id Generators Throughput")
+    void compareRequestIdGeneratorsThroughput() throws InterruptedException {
+        TimeOrderedRequestIdGenerator timeOrdered = new TimeOrderedRequestIdGenerator();
+        run("random-uuid", new RandomUuidRequestIdGenerator());
+        run("time-ordered", timeOrdered);
+        run("trace-id", new TraceIdRequestIdGenerator(null, timeOrdered));
+    }
+
+    private void run(String name, RequestIdGenerator generator) throws InterruptedException {
+        measure(generator, WARMUP_ITERATIONS);
+        long elapsedNanos = measure(generator, ITERATIONS);
+        log.info("{}: {} threads, {} ns/op, {} ops/s", name, THREADS,
+                elapsedNanos / ITERATIONS,
+                (long) ITERATIONS * THREADS * 1_000_000_000L / elapsedNanos);
+    }
+
+    private long measure(RequestIdGenerator generator, int iterations) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        LongAdder sink = new LongAdder();
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        sink.add(generator.generate(exchange).length());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        if (sink.sum() == 0) {
+            throw new IllegalStateException("Generators produced no output");
+        }
+        return elapsed;
+    }
+}
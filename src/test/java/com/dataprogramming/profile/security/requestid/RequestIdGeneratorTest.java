@@ -0,0 +1,74 @@
+package com.dataprogramming.profile.security.requestid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+class RequestIdGeneratorTest {
+
+    private final TimeOrderedRequestIdGenerator timeOrderedGenerator = new TimeOrderedRequestIdGenerator();
+
+    @Test
+    @DisplayName("Return Version 7 Uuid When Generating Time Ordered Id")
+    void returnVersion7UuidWhenGeneratingTimeOrderedId() {
+        UUID uuid = UUID.fromString(timeOrderedGenerator.generate(exchange(MockServerHttpRequest.get("/"))));
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(Math.abs(System.currentTimeMillis() - (uuid.getMostSignificantBits() >>> 16)) < 1_000);
+    }
+
+    @Test
+    @DisplayName("Return Unique Ids When Generating Many Time Ordered Ids")
+    void returnUniqueIdsWhenGeneratingManyTimeOrderedIds() {
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(timeOrderedGenerator.next());
+        }
+
+        assertEquals(100_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Return Trace Id When Traceparent Header Is Present")
+    void returnTraceIdWhenTraceparentHeaderIsPresent() {
+        TraceIdRequestIdGenerator generator = new TraceIdRequestIdGenerator(null, timeOrderedGenerator);
+
+        String requestId = generator.generate(exchange(MockServerHttpRequest.get("/")
+                .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")));
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", requestId);
+    }
+
+    @Test
+    @DisplayName("Return Trace Id When B3 Header Is Present")
+    void returnTraceIdWhenB3HeaderIsPresent() {
+        TraceIdRequestIdGenerator generator = new TraceIdRequestIdGenerator(null, timeOrderedGenerator);
+
+        String requestId = generator.generate(exchange(MockServerHttpRequest.get("/")
+                .header("b3", "80f198ee56343ba864fe8b2a57d3eff7-e457b5a2e4d86bd1-1")));
+
+        assertEquals("80f198ee56343ba864fe8b2a57d3eff7", requestId);
+    }
+
+    @Test
+    @DisplayName("Return Fallback Id When Request Has No Trace")
+    void returnFallbackIdWhenRequestHasNoTrace() {
+        TraceIdRequestIdGenerator generator = new TraceIdRequestIdGenerator(null, timeOrderedGenerator);
+
+        UUID uuid = UUID.fromString(generator.generate(exchange(MockServerHttpRequest.get("/"))));
+
+        assertEquals(7, uuid.version());
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,102 @@
+package com.dataprogramming.profile.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.dataprogramming.profile.security.client.AuthServiceUnavailableException;
+import com.dataprogramming.profile.security.domain.TokenResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class InFlightTokenValidationsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private InFlightTokenValidations inFlightTokenValidations;
+
+    @BeforeEach
+    void setUp() {
+        inFlightTokenValidations = new InFlightTokenValidations(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Return One Upstream Call When Same Token Is Validated Concurrently")
+    void returnOneUpstreamCallWhenSameTokenIsValidatedConcurrently() {
+        TokenResponse valid = TokenResponse.builder().success(true).message("Token is valid").build();
+
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> inFlightTokenValidations.coalesce("key", () -> slowValidation(Mono.just(valid))))
+                        .all(valid::equals))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(0, inFlightTokenValidations.inFlight());
+        assertEquals(20.0, meterRegistry.get("security.token.validation.requests").counter().count());
+        assertEquals(19.0, meterRegistry.get("security.token.validation.coalesced").counter().count());
+        assertEquals(0.95, meterRegistry.get("security.token.validation.coalescing.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Return Separate Upstream Calls When Tokens Differ")
+    void returnSeparateUpstreamCallsWhenTokensDiffer() {
+        TokenResponse valid = TokenResponse.builder().success(true).build();
+
+        StepVerifier.create(Flux.just("a", "b", "c")
+                        .flatMap(key -> inFlightTokenValidations.coalesce(key, () -> slowValidation(Mono.just(valid))))
+                        .count())
+                .expectNext(3L)
+                .verifyComplete();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Return Error To Every Caller And Release Entry When Upstream Fails")
+    void returnErrorToEveryCallerAndReleaseEntryWhenUpstreamFails() {
+        Mono<TokenResponse> failing = Mono.error(new AuthServiceUnavailableException("auth down", null));
+
+        StepVerifier.create(Flux.range(0, 5)
+                        .flatMapDelayError(i -> inFlightTokenValidations.coalesce("key", () -> slowValidation(failing)),
+                                5, 1)
+                        .count())
+                .verifyError(AuthServiceUnavailableException.class);
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(0, inFlightTokenValidations.inFlight());
+
+        StepVerifier.create(inFlightTokenValidations.coalesce("key",
+                        () -> slowValidation(Mono.just(TokenResponse.builder().success(true).build()))))
+                .expectNextMatches(TokenResponse::isSuccess)
+                .verifyComplete();
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("Return Released Entry When Every Caller Cancels")
+    void returnReleasedEntryWhenEveryCallerCancels() {
+        StepVerifier.create(inFlightTokenValidations.coalesce("key", () -> slowValidation(Mono.never())))
+                .expectSubscription()
+                .then(() -> assertEquals(1, inFlightTokenValidations.inFlight()))
+                .thenCancel()
+                .verify();
+
+        assertEquals(0, inFlightTokenValidations.inFlight());
+        assertEquals(0.0, meterRegistry.get("security.token.validation.in.flight").gauge().value());
+    }
+
+    private Mono<TokenResponse> slowValidation(Mono<TokenResponse> result) {
+        return Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(50)).then(result);
+        });
+    }
+}
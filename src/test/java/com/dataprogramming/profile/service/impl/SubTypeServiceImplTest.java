@@ -1,22 +1,36 @@
 package com.dataprogramming.profile.service.impl;
 
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.dataprogramming.profile.catalog.CatalogInvalidationBus;
+import com.dataprogramming.profile.catalog.CatalogSnapshotStore;
+import com.dataprogramming.profile.catalog.SubTypeCatalog;
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.dto.BulkItemResult;
 import com.dataprogramming.profile.dto.SubTypeRequest;
 import com.dataprogramming.profile.entity.SubType;
 import com.dataprogramming.profile.mapper.SubTypeMapper;
+import com.dataprogramming.profile.model.EnumCatalogEntity;
 import com.dataprogramming.profile.model.EnumSubType;
 import com.dataprogramming.profile.repository.SubTypeRepository;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -33,6 +47,18 @@ class SubTypeServiceImplTest {
     @Mock
     private SubTypeMapper subTypeMapper;
 
+    @Mock
+    private SubTypeCatalog subTypeCatalog;
+
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @Mock
+    private CatalogInvalidationBus catalogInvalidationBus;
+
+    @Spy
+    private CatalogProperties catalogProperties = new CatalogProperties();
+
     private SubType subType;
 
     @BeforeEach
@@ -56,13 +82,14 @@ class SubTypeServiceImplTest {
         StepVerifier.create(subTypeService.create(input))
                 .expectNext(subType)
                 .verifyComplete();
+        verify(catalogInvalidationBus).publish(EnumCatalogEntity.SUB_TYPE, "1");
     }
 
     @Test
     @DisplayName("Return Successful When Find All SubTypeService")
     void returnSuccessfulWhenFindAllSubTypeService() {
 
-        when(subTypeRepository.findAll()).thenReturn(Flux.just(subType));
+        when(catalogSnapshotStore.subTypes()).thenReturn(Flux.just(subType));
 
         StepVerifier.create(subTypeService.findAll())
                 .expectNext(subType)
@@ -73,7 +100,7 @@ class SubTypeServiceImplTest {
     @DisplayName("Return Successful When Find By Id SubTypeService")
     void returnSuccessfulWhenFindByIdSubTypeService() {
 
-        when(subTypeRepository.findById(anyString())).thenReturn(Mono.just(subType));
+        when(subTypeCatalog.findById(anyString())).thenReturn(Mono.just(subType));
 
         StepVerifier.create(subTypeService.findById("1"))
                 .expectNext(subType)
@@ -84,7 +111,7 @@ class SubTypeServiceImplTest {
     @DisplayName("Return Not Found When Find By Id SubTypeService")
     void returnNotFoundWhenFindByIdSubTypeService() {
 
-        when(subTypeRepository.findById(anyString())).thenReturn(Mono.empty());
+        when(subTypeCatalog.findById(anyString())).thenReturn(Mono.empty());
 
         StepVerifier.create(subTypeService.findById("2"))
                 .expectNextCount(0)
@@ -95,33 +122,128 @@ class SubTypeServiceImplTest {
     @DisplayName("Return Successful When Update SubTypeService")
     void returnSuccessfulWhenUpdateSubTypeService() {
 
-        when(subTypeRepository.save(any(SubType.class))).thenReturn(Mono.just(subType));
+        when(subTypeRepository.updateValue("1", EnumSubType.NORMAL)).thenReturn(Mono.just(subType));
 
         StepVerifier.create(subTypeService.update(subType))
                 .expectNext(subType)
                 .verifyComplete();
+        verify(subTypeCatalog).put(subType);
+    }
+
+    @Test
+    @DisplayName("Return Empty When Update SubTypeService Does Not Exist")
+    void returnEmptyWhenUpdateSubTypeServiceDoesNotExist() {
+
+        when(subTypeRepository.updateValue("1", EnumSubType.NORMAL)).thenReturn(Mono.empty());
+
+        StepVerifier.create(subTypeService.update(subType))
+                .verifyComplete();
+        verifyNoInteractions(subTypeCatalog, catalogInvalidationBus);
     }
 
     @Test
     @DisplayName("Return Successful When Delete SubTypeService")
     void returnSuccessfulWhenDeleteSubTypeService() {
 
-        when(subTypeRepository.findById(anyString())).thenReturn(Mono.just(subType));
-        when(subTypeRepository.delete(any(SubType.class))).thenReturn(Mono.empty());
+        when(subTypeRepository.removeById("1")).thenReturn(Mono.just(1L));
 
         StepVerifier.create(subTypeService.delete("1"))
                 .expectNext(true)
                 .verifyComplete();
+        verify(subTypeCatalog).evict("1");
+        verify(catalogInvalidationBus).publish(EnumCatalogEntity.SUB_TYPE, "1");
     }
 
     @Test
     @DisplayName("Return Not Found When Delete SubTypeService")
     void returnNotFoundWhenDeleteSubTypeService() {
 
-        when(subTypeRepository.findById(anyString())).thenReturn(Mono.empty());
+        when(subTypeRepository.removeById("2")).thenReturn(Mono.just(0L));
 
         StepVerifier.create(subTypeService.delete("2"))
                 .expectNext(false)
                 .verifyComplete();
+        verifyNoInteractions(subTypeCatalog, catalogInvalidationBus);
+    }
+
+    @Test
+    @DisplayName("Return First Page When No Cursor Is Given")
+    void returnFirstPageWhenSubTypeHasNoCursor() {
+        when(subTypeRepository.findAllBy(any(Pageable.class))).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(subTypeService.findPage(null, 11))
+                .expectNext(subType)
+                .verifyComplete();
+        verify(subTypeRepository).findAllBy(argThat(page -> page.getPageSize() == 11
+                && page.getSort().getOrderFor("id") != null));
+    }
+
+    @Test
+    @DisplayName("Return Next Page When Cursor Is Given")
+    void returnNextPageWhenSubTypeHasCursor() {
+        when(subTypeRepository.findByIdGreaterThan(eq("1"), any(Pageable.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(subTypeService.findPage("1", 11))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Streamed Documents When Stream Is Requested")
+    void returnStreamedDocumentsWhenStreamIsRequested() {
+        when(subTypeRepository.streamAll()).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(subTypeService.stream())
+                .expectNext(subType)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Documents In One Query When Finding Many Ids")
+    void returnDocumentsInOneQueryWhenFindingManyIds() {
+        when(subTypeRepository.findAllById(List.of("1", "2"))).thenReturn(Flux.just(subType));
+
+        StepVerifier.create(subTypeService.findAllById(List.of("1", "2")))
+                .expectNext(subType)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Per Item Results When Creating SubTypes In Bulk")
+    void returnPerItemResultsWhenCreatingSubTypesInBulk() {
+        when(subTypeMapper.toSubType(any(SubTypeRequest.class)))
+                .thenAnswer(invocation -> new SubType(null, invocation.<SubTypeRequest>getArgument(0).getValue()));
+        when(subTypeRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of(1, "duplicate key")));
+
+        StepVerifier.create(subTypeService.createAll(List.of(
+                        new SubTypeRequest(EnumSubType.NORMAL), new SubTypeRequest(EnumSubType.VIP))))
+                .expectNextMatches(results -> results.size() == 2
+                        && results.get(0).getStatus().equals(BulkItemResult.CREATED)
+                        && results.get(0).getItem().getId() != null
+                        && results.get(1).getStatus().equals(BulkItemResult.FAILED))
+                .verifyComplete();
+
+        verify(subTypeCatalog).put(argThat(subType -> subType.getValue() == EnumSubType.NORMAL));
+        verify(catalogInvalidationBus).publishAll(eq(EnumCatalogEntity.SUB_TYPE), argThat(ids -> ids.size() == 1));
+        verify(catalogSnapshotStore).requestRebuild();
+    }
+
+    @Test
+    @DisplayName("Return Rejected Items In Ack When Ingesting SubTypes")
+    void returnRejectedItemsInAckWhenIngestingSubTypes() {
+        when(subTypeMapper.toSubType(any(SubTypeRequest.class)))
+                .thenAnswer(invocation -> new SubType(null, invocation.<SubTypeRequest>getArgument(0).getValue()));
+        when(subTypeRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(subTypeService.ingest(Flux.just(
+                        new SubTypeRequest(EnumSubType.NORMAL), new SubTypeRequest(null), new SubTypeRequest(EnumSubType.VIP))))
+                .expectNextMatches(ack -> ack.getBatch() == 0 && ack.getReceived() == 3 && ack.getCreated() == 2
+                        && ack.getRejected().size() == 1
+                        && ack.getRejected().get(0).getIndex() == 1
+                        && ack.getRejected().get(0).getStatus().equals(BulkItemResult.INVALID))
+                .verifyComplete();
+
+        verify(subTypeRepository).insertUnordered(argThat((List<SubType> inserted) -> inserted.size() == 2));
+        verify(catalogSnapshotStore).requestRebuild();
+        verify(catalogInvalidationBus).publishBulkWrite(EnumCatalogEntity.SUB_TYPE);
     }
 }
@@ -1,20 +1,57 @@
 package com.dataprogramming.profile.service.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.dataprogramming.profile.catalog.BatchLoader;
+import com.dataprogramming.profile.catalog.CatalogInvalidationBus;
+import com.dataprogramming.profile.catalog.CatalogSnapshot;
+import com.dataprogramming.profile.catalog.CatalogSnapshotStore;
+import com.dataprogramming.profile.catalog.CustomerTypeNearCache;
+import com.dataprogramming.profile.concurrent.SingleFlight;
+import com.dataprogramming.profile.config.CatalogProperties;
+import com.dataprogramming.profile.dto.BulkItemResult;
+import com.dataprogramming.profile.dto.CustomerTypeRequest;
 import com.dataprogramming.profile.entity.CustomerType;
 import com.dataprogramming.profile.entity.SubType;
+import com.dataprogramming.profile.mapper.CustomerTypeMapper;
+import com.dataprogramming.profile.model.EnumCatalogEntity;
 import com.dataprogramming.profile.model.EnumCustomerType;
+import com.dataprogramming.profile.model.EnumSubType;
+import com.dataprogramming.profile.projection.FieldSelection;
 import com.dataprogramming.profile.repository.TypeCustomerRepository;
+import com.dataprogramming.profile.repository.TypeCustomerRepositoryCustomImpl;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.bson.BsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -28,6 +65,30 @@ class TypeCustomerServiceImplTest {
     @Mock
     private SubTypeServiceImpl subTypeServiceImpl;
 
+    @Mock
+    private CustomerTypeNearCache customerTypeNearCache;
+
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @Mock
+    private CatalogInvalidationBus catalogInvalidationBus;
+
+    @Mock
+    private BatchLoader<CustomerType> customerTypeBatchLoader;
+
+    @Mock
+    private CustomerTypeMapper customerTypeMapper;
+
+    @Spy
+    private CatalogProperties catalogProperties = new CatalogProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SingleFlight<CustomerType> customerTypeSingleFlight =
+            new SingleFlight<>(meterRegistry.counter("requests"), meterRegistry.counter("joined"));
+
     @InjectMocks
     private CustomerTypeServiceImpl typeCustomerService;
 
@@ -41,6 +102,11 @@ class TypeCustomerServiceImplTest {
         typeCustomer.setSubType(new SubType());
     }
 
+    private void stubNearCacheMiss() {
+        when(customerTypeNearCache.get(anyString(), any())).thenAnswer(invocation ->
+                invocation.<Function<String, Mono<CustomerType>>>getArgument(1).apply(invocation.getArgument(0)));
+    }
+
     @Test
     @DisplayName("Return Successful When Create TypeCustomer")
     void returnSuccessfulWhenCreateTypeCustomer() {
@@ -51,12 +117,13 @@ class TypeCustomerServiceImplTest {
                         savedTypeCustomer.getId().equals("1") &&
                                 savedTypeCustomer.getValue().equals(EnumCustomerType.PERSONAL))
                 .verifyComplete();
+        verify(customerTypeNearCache).invalidate("1");
     }
 
     @Test
     @DisplayName("Return Successful When Find All TypeCustomer")
     void returnSuccessfulWhenFindAllTypeCustomer() {
-        when(typeCustomerRepository.findAll()).thenReturn(Flux.just(typeCustomer));
+        when(catalogSnapshotStore.customerTypes()).thenReturn(Flux.just(typeCustomer));
 
         StepVerifier.create(typeCustomerService.findAll())
                 .expectNextMatches(foundTypeCustomer -> foundTypeCustomer.getId().equals("1"))
@@ -66,17 +133,33 @@ class TypeCustomerServiceImplTest {
     @Test
     @DisplayName("Return Successful When Find By Id TypeCustomer")
     void returnSuccessfulWhenFindByIdTypeCustomer() {
-        when(typeCustomerRepository.findById(anyString())).thenReturn(Mono.just(typeCustomer));
+        stubNearCacheMiss();
+        when(customerTypeBatchLoader.load(anyString())).thenReturn(Mono.just(typeCustomer));
 
         StepVerifier.create(typeCustomerService.findById("1"))
                 .expectNextMatches(foundTypeCustomer -> foundTypeCustomer.getId().equals("1"))
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Return One Read When Concurrent Lookups Miss The Same TypeCustomer")
+    void returnOneReadWhenConcurrentLookupsMissTheSameTypeCustomer() {
+        stubNearCacheMiss();
+        when(customerTypeBatchLoader.load("1")).thenReturn(Mono.just(typeCustomer).delayElement(Duration.ofMillis(50)));
+
+        StepVerifier.create(Flux.range(0, 5).flatMap(i -> typeCustomerService.findById("1")).count())
+                .expectNext(5L)
+                .verifyComplete();
+
+        verify(customerTypeBatchLoader, times(1)).load("1");
+        assertEquals(4.0, meterRegistry.get("joined").counter().count());
+    }
+
     @Test
     @DisplayName("Return Not Found When Find By Id TypeCustomer")
     void returnNotFoundWhenFindByIdTypeCustomer() {
-        when(typeCustomerRepository.findById(anyString())).thenReturn(Mono.empty());
+        stubNearCacheMiss();
+        when(customerTypeBatchLoader.load(anyString())).thenReturn(Mono.empty());
 
         StepVerifier.create(typeCustomerService.findById("2"))
                 .expectNextCount(0)
@@ -91,27 +174,31 @@ class TypeCustomerServiceImplTest {
         StepVerifier.create(typeCustomerService.update(typeCustomer))
                 .expectNextMatches(updatedTypeCustomer -> updatedTypeCustomer.getId().equals("1"))
                 .verifyComplete();
+        verify(customerTypeNearCache).invalidate("1");
     }
 
     @Test
     @DisplayName("Return Successful When Delete TypeCustomer")
     void returnSuccessfulWhenDeleteTypeCustomer() {
-        when(typeCustomerRepository.findById("1")).thenReturn(Mono.just(typeCustomer));
-        when(typeCustomerRepository.delete(any(CustomerType.class))).thenReturn(Mono.empty());
+        when(typeCustomerRepository.removeById("1")).thenReturn(Mono.just(1L));
 
         StepVerifier.create(typeCustomerService.delete("1"))
                 .expectNext(true)
                 .verifyComplete();
+        verify(customerTypeNearCache).invalidate("1");
+        verify(catalogInvalidationBus).publish(EnumCatalogEntity.CUSTOMER_TYPE, "1");
     }
 
     @Test
     @DisplayName("Return Not Found When Delete TypeCustomer")
     void returnNotFoundWhenDeleteTypeCustomer() {
-        when(typeCustomerRepository.findById("2")).thenReturn(Mono.empty());
+        when(typeCustomerRepository.removeById("2")).thenReturn(Mono.just(0L));
 
         StepVerifier.create(typeCustomerService.delete("2"))
                 .expectNext(false)
                 .verifyComplete();
+        verify(customerTypeNearCache, never()).invalidate(anyString());
+        verify(catalogInvalidationBus, never()).publish(any(), anyString());
     }
 
     @Test
@@ -125,4 +212,213 @@ class TypeCustomerServiceImplTest {
                 .expectNextMatches(foundSubType -> foundSubType.getId().equals("sub_1"))
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Return First Page When No Cursor Is Given")
+    void returnFirstPageWhenTypeCustomerHasNoCursor() {
+        when(typeCustomerRepository.findAllBy(any(Pageable.class))).thenReturn(Flux.just(typeCustomer));
+
+        StepVerifier.create(typeCustomerService.findPage(null, 11))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+        verify(typeCustomerRepository).findAllBy(argThat(page -> page.getPageSize() == 11
+                && page.getSort().getOrderFor("id") != null));
+    }
+
+    @Test
+    @DisplayName("Return Next Page When Cursor Is Given")
+    void returnNextPageWhenTypeCustomerHasCursor() {
+        when(typeCustomerRepository.findByIdGreaterThan(eq("1"), any(Pageable.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(typeCustomerService.findPage("1", 11))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Streamed Documents When Stream Is Requested")
+    void returnStreamedDocumentsWhenStreamIsRequested() {
+        when(typeCustomerRepository.streamAll()).thenReturn(Flux.just(typeCustomer));
+
+        StepVerifier.create(typeCustomerService.stream())
+                .expectNext(typeCustomer)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Filtered TypeCustomers When Searching")
+    void returnFilteredTypeCustomersWhenSearching() {
+        when(typeCustomerRepository.findByValueAndSubTypeValue(EnumCustomerType.PERSONAL, EnumSubType.VIP))
+                .thenReturn(Flux.just(typeCustomer));
+        when(typeCustomerRepository.findByValue(EnumCustomerType.PERSONAL)).thenReturn(Flux.just(typeCustomer));
+        when(typeCustomerRepository.findBySubTypeValue(EnumSubType.VIP)).thenReturn(Flux.empty());
+
+        StepVerifier.create(typeCustomerService.search(EnumCustomerType.PERSONAL, EnumSubType.VIP))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+        StepVerifier.create(typeCustomerService.search(EnumCustomerType.PERSONAL, null))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+        StepVerifier.create(typeCustomerService.search(null, EnumSubType.VIP))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Projected TypeCustomers When Fields Are Selected And Caches Are Cold")
+    void returnProjectedTypeCustomersWhenFieldsAreSelectedAndCachesAreCold() {
+        FieldSelection fields = new FieldSelection(Set.of("id"));
+        when(catalogSnapshotStore.current()).thenReturn(new CatalogSnapshot(0, List.of(), List.of(), Instant.EPOCH));
+        when(typeCustomerRepository.findAllWithFields(fields)).thenReturn(Flux.just(typeCustomer));
+        when(typeCustomerRepository.findByIdWithFields("1", fields)).thenReturn(Mono.just(typeCustomer));
+
+        StepVerifier.create(typeCustomerService.findAll(fields))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+        StepVerifier.create(typeCustomerService.findById("1", fields))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Cached TypeCustomers When Fields Are Selected And Caches Are Warm")
+    void returnCachedTypeCustomersWhenFieldsAreSelectedAndCachesAreWarm() {
+        FieldSelection fields = new FieldSelection(Set.of("id"));
+        when(catalogSnapshotStore.current())
+                .thenReturn(new CatalogSnapshot(1, List.of(typeCustomer), List.of(), Instant.now()));
+        when(catalogSnapshotStore.customerTypes()).thenReturn(Flux.just(typeCustomer));
+        when(customerTypeNearCache.isEnabled()).thenReturn(true);
+        when(customerTypeNearCache.get(eq("1"), any())).thenReturn(Mono.just(typeCustomer));
+
+        StepVerifier.create(typeCustomerService.findAll(fields))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+        StepVerifier.create(typeCustomerService.findById("1", fields))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+
+        verify(typeCustomerRepository, never()).findAllWithFields(any());
+        verify(typeCustomerRepository, never()).findByIdWithFields(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Return Documents In One Query When Finding Many Ids")
+    void returnDocumentsInOneQueryWhenFindingManyIds() {
+        when(typeCustomerRepository.findAllById(List.of("1", "2"))).thenReturn(Flux.just(typeCustomer));
+
+        StepVerifier.create(typeCustomerService.findAllById(List.of("1", "2")))
+                .expectNext(typeCustomer)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Per Item Results When Creating TypeCustomers In Bulk")
+    void returnPerItemResultsWhenCreatingTypeCustomersInBulk() {
+        List<CustomerTypeRequest> requests = List.of(
+                new CustomerTypeRequest("PERSONAL", new SubType("1", null)),
+                new CustomerTypeRequest("PERSONAL", new SubType("9", null)),
+                new CustomerTypeRequest("UNKNOWN", new SubType("1", null)),
+                new CustomerTypeRequest("BUSINESS", new SubType("1", null)),
+                new CustomerTypeRequest("BUSINESS", null),
+                new CustomerTypeRequest(null, new SubType("1", null)));
+        SubType subType = new SubType("1", EnumSubType.NORMAL);
+        when(subTypeServiceImpl.findAllById(Set.of("1", "9"))).thenReturn(Flux.just(subType));
+        when(customerTypeMapper.toCustomerType(any(CustomerTypeRequest.class))).thenAnswer(invocation -> {
+            CustomerTypeRequest request = invocation.getArgument(0);
+            return new CustomerType(null, EnumCustomerType.valueOf(request.getValue()), request.getSubType());
+        });
+        when(typeCustomerRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of(1, "duplicate key")));
+
+        StepVerifier.create(typeCustomerService.createAll(requests))
+                .expectNextMatches(results -> results.size() == 6
+                        && results.get(0).getStatus().equals(BulkItemResult.CREATED)
+                        && results.get(0).getItem().getId() != null
+                        && results.get(0).getItem().getSubType() == subType
+                        && results.get(1).getStatus().equals(BulkItemResult.INVALID)
+                        && results.get(2).getStatus().equals(BulkItemResult.INVALID)
+                        && results.get(3).getStatus().equals(BulkItemResult.FAILED)
+                        && results.get(3).getError().equals("duplicate key")
+                        && results.get(4).getStatus().equals(BulkItemResult.INVALID)
+                        && results.get(5).getStatus().equals(BulkItemResult.INVALID))
+                .verifyComplete();
+
+        verify(typeCustomerRepository).insertUnordered(argThat((List<CustomerType> inserted) -> inserted.size() == 2));
+        verify(catalogInvalidationBus).publishAll(eq(EnumCatalogEntity.CUSTOMER_TYPE),
+                argThat(ids -> ids.size() == 1));
+        verify(catalogSnapshotStore).requestRebuild();
+    }
+
+    @Test
+    @DisplayName("Return One Ack Per Batch When Ingesting TypeCustomers")
+    void returnOneAckPerBatchWhenIngestingTypeCustomers() {
+        catalogProperties.getIngest().setBatchSize(2);
+        SubType subType = new SubType("1", EnumSubType.NORMAL);
+        when(subTypeServiceImpl.findAllById(any())).thenReturn(Flux.just(subType));
+        when(customerTypeMapper.toCustomerType(any(CustomerTypeRequest.class)))
+                .thenAnswer(invocation -> new CustomerType(null, EnumCustomerType.PERSONAL, null));
+        when(typeCustomerRepository.insertUnordered(any()))
+                .thenReturn(Mono.just(Map.of()))
+                .thenReturn(Mono.error(new IllegalStateException("mongo down")));
+
+        StepVerifier.create(typeCustomerService.ingest(Flux.range(0, 3)
+                        .map(i -> new CustomerTypeRequest("PERSONAL", new SubType("1", null)))))
+                .expectNextMatches(ack -> ack.getBatch() == 0 && ack.getOffset() == 0
+                        && ack.getReceived() == 2 && ack.getCreated() == 2 && ack.getRejected().isEmpty())
+                .expectNextMatches(ack -> ack.getBatch() == 1 && ack.getOffset() == 2
+                        && ack.getReceived() == 1 && ack.getCreated() == 0
+                        && ack.getRejected().get(0).getStatus().equals(BulkItemResult.FAILED)
+                        && ack.getRejected().get(0).getError().equals("mongo down"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Return Per Item Statuses When Ingest Batch Hits A Duplicate Key")
+    void returnPerItemStatusesWhenIngestBatchHitsADuplicateKey() {
+        ReactiveMongoTemplate reactiveMongoTemplate = mock(ReactiveMongoTemplate.class);
+        ReactiveBulkOperations bulkOperations = mock(ReactiveBulkOperations.class);
+        MongoBulkWriteException bulkWriteException = mock(MongoBulkWriteException.class);
+        when(bulkWriteException.getWriteErrors())
+                .thenReturn(List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)));
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CustomerType.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.insert(any(List.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute())
+                .thenReturn(Mono.error(new DuplicateKeyException("duplicate key", bulkWriteException)));
+        TypeCustomerRepositoryCustomImpl repository =
+                new TypeCustomerRepositoryCustomImpl(reactiveMongoTemplate, catalogProperties);
+        when(typeCustomerRepository.insertUnordered(any()))
+                .thenAnswer(invocation -> repository.insertUnordered(invocation.getArgument(0)));
+        when(subTypeServiceImpl.findAllById(any())).thenReturn(Flux.just(new SubType("1", EnumSubType.NORMAL)));
+        when(customerTypeMapper.toCustomerType(any(CustomerTypeRequest.class)))
+                .thenAnswer(invocation -> new CustomerType(null, EnumCustomerType.PERSONAL, null));
+
+        StepVerifier.create(typeCustomerService.ingest(Flux.range(0, 2)
+                        .map(i -> new CustomerTypeRequest("PERSONAL", new SubType("1", null)))))
+                .expectNextMatches(ack -> ack.getReceived() == 2 && ack.getCreated() == 1
+                        && ack.getRejected().size() == 1
+                        && ack.getRejected().get(0).getIndex() == 1
+                        && ack.getRejected().get(0).getStatus().equals(BulkItemResult.FAILED)
+                        && ack.getRejected().get(0).getError().equals("duplicate key"))
+                .verifyComplete();
+
+        verify(catalogInvalidationBus).publishBulkWrite(EnumCatalogEntity.CUSTOMER_TYPE);
+    }
+
+    @Test
+    @DisplayName("Return One Rebuild And One Invalidation When Ingest Spans Several Batches")
+    void returnOneRebuildAndOneInvalidationWhenIngestSpansSeveralBatches() {
+        catalogProperties.getIngest().setBatchSize(2);
+        when(subTypeServiceImpl.findAllById(any())).thenReturn(Flux.just(new SubType("1", EnumSubType.NORMAL)));
+        when(customerTypeMapper.toCustomerType(any(CustomerTypeRequest.class)))
+                .thenAnswer(invocation -> new CustomerType(null, EnumCustomerType.PERSONAL, null));
+        when(typeCustomerRepository.insertUnordered(any())).thenReturn(Mono.just(Map.of()));
+
+        StepVerifier.create(typeCustomerService.ingest(Flux.range(0, 6)
+                        .map(i -> new CustomerTypeRequest("PERSONAL", new SubType("1", null)))))
+                .expectNextCount(3)
+                .verifyComplete();
+
+        verify(typeCustomerRepository, times(3)).insertUnordered(any());
+        verify(catalogSnapshotStore).requestRebuild();
+        verify(catalogInvalidationBus).publishBulkWrite(EnumCatalogEntity.CUSTOMER_TYPE);
+        verify(catalogInvalidationBus, never()).publishAll(any(), any());
+    }
+}